@@ -0,0 +1,64 @@
+/*
+ * Analysis
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.List;
+
+/**
+ * Best lines of a position after one completed depth of {@link Search#analyze}.
+ * Lines are sorted from the best, scores are from the side to move point of view.
+ */
+public class Analysis {
+    private final List<Line> lines;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedMillis;
+
+    /**
+     * One principal variation: the root move followed by the expected continuation.
+     */
+    public static class Line {
+        private final List<Move> moves;
+        private final int score;
+
+        public Line(List<Move> moves, int score) {
+            this.moves = List.copyOf(moves);
+            this.score = score;
+        }
+
+        public List<Move> getMoves() { return moves; }
+        public Move getFirst() { return moves.get(0); }
+        public int getScore() { return score; }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format("%+.2f", score / 100.0));
+            for (Move move : moves) {
+                sb.append(' ').append(move);
+            }
+            return sb.toString();
+        }
+    }
+
+    public Analysis(List<Line> lines, int depth, long nodes, long elapsedMillis) {
+        this.lines = List.copyOf(lines);
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<Line> getLines() { return lines; }
+    public int getDepth() { return depth; }
+    public long getNodes() { return nodes; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    @Override
+    public String toString() {
+        return String.format("hloubka %d, uzly %d, %d ms: %s", depth, nodes, elapsedMillis, lines);
+    }
+}
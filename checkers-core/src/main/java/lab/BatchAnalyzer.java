@@ -0,0 +1,202 @@
+/*
+ * BatchAnalyzer
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless analysis of many positions, one engine search per position.
+ *
+ * Positions are read as FEN-style lines (see {@link Position#fromFen}) from a file or
+ * standard input; empty lines and lines starting with # are skipped. A pool with one
+ * worker per core analyses them, each worker with a transposition table of its own,
+ * so the workers share nothing and throughput grows with the number of cores. Every
+ * result is written as one JSON line as soon as it is done, so the output is in the
+ * order of completion; the "line" field gives the input line. Reading is held back
+ * when workers fall behind, so a large file is never loaded at once.
+ *
+ * Usage: BatchAnalyzer [file|-] [--threads n] [--depth d] [--time ms] [--size 8|10] [--flying] [--max-capture]
+ * (--time 0 limits the depth only)
+ */
+public class BatchAnalyzer {
+    private static final int TABLE_ENTRIES = 1 << 18;
+    private static final int PV_LENGTH = 12;
+
+    private final Rules rules;
+    private final int threads;
+    private final int maxDepth;
+    private final long timeLimitMillis;
+    private final PrintStream out;
+    private final ThreadLocal<TranspositionTable> tables =
+            ThreadLocal.withInitial(() -> new TranspositionTable(TABLE_ENTRIES));
+
+    private final AtomicInteger analyzed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong nodes = new AtomicLong();
+
+    public BatchAnalyzer(Rules rules, int threads, int maxDepth, long timeLimitMillis, PrintStream out) {
+        this.rules = rules;
+        this.threads = threads;
+        this.maxDepth = maxDepth;
+        this.timeLimitMillis = timeLimitMillis;
+        this.out = out;
+    }
+
+    /**
+     * Analyses all positions of the reader and waits until the last result is written.
+     */
+    public void run(BufferedReader reader) throws IOException, InterruptedException {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "batch-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        // at most a few positions waiting per worker
+        Semaphore pending = new Semaphore(threads * 4);
+        long start = System.nanoTime();
+        try {
+            String text;
+            int lineNumber = 0;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                String fen = text.trim();
+                if (fen.isEmpty() || fen.startsWith("#")) continue;
+                int line = lineNumber;
+                pending.acquire();
+                pool.execute(() -> {
+                    try {
+                        emit(analyze(line, fen));
+                    } finally {
+                        pending.release();
+                    }
+                });
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("pozice: %d, chyby: %d, vlákna: %d, doba: %.1f s, %.0f pozic/min, %.0f uzlů/s%n",
+                analyzed.get(), failed.get(), threads, seconds, analyzed.get() * 60 / seconds, nodes.get() / seconds);
+    }
+
+    private String analyze(int line, String fen) {
+        StringBuilder json = new StringBuilder("{\"line\":").append(line).append(",\"fen\":");
+        appendString(json, fen);
+        Position pos;
+        try {
+            pos = Position.fromFen(rules, fen);
+        } catch (IllegalArgumentException e) {
+            return error(json, e.getMessage());
+        }
+        int prefix = json.length();
+        try {
+            return search(json, pos);
+        } catch (RuntimeException e) {
+            // a failed search still answers its line, so no input line is lost
+            json.setLength(prefix);
+            return error(json, e.toString());
+        }
+    }
+
+    private String error(StringBuilder json, String message) {
+        failed.incrementAndGet();
+        appendString(json.append(",\"error\":"), message);
+        return json.append('}').toString();
+    }
+
+    private String search(StringBuilder json, Position pos) {
+        Search search = new Search(new AtomicBoolean(), EvalWeights.getDefault(), tables.get());
+        SearchResult result = search.search(pos, maxDepth, timeLimitMillis);
+        analyzed.incrementAndGet();
+        nodes.addAndGet(result.getNodes());
+        json.append(",\"depth\":").append(result.getDepth())
+                .append(",\"score\":").append(result.getScore())
+                .append(",\"nodes\":").append(result.getNodes())
+                .append(",\"millis\":").append(result.getElapsedMillis());
+        Move best = result.getBestMove();
+        if (best == null) {
+            return json.append(",\"bestMove\":null,\"pv\":[]}").toString();
+        }
+        appendString(json.append(",\"bestMove\":"), best.toString());
+        json.append(",\"pv\":[");
+        List<Move> pv = search.principalVariation(pos, best, Math.min(PV_LENGTH, Math.max(1, result.getDepth())));
+        for (int i = 0; i < pv.size(); i++) {
+            if (i > 0) json.append(',');
+            appendString(json, pv.get(i).toString());
+        }
+        return json.append("]}").toString();
+    }
+
+    private void emit(String json) {
+        synchronized (out) {
+            out.println(json);
+            out.flush();
+        }
+    }
+
+    private static void appendString(StringBuilder sb, String text) {
+        sb.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String file = "-";
+        int threads = Runtime.getRuntime().availableProcessors();
+        int depth = 64;
+        long time = 1000;
+        int size = 8;
+        boolean flying = false;
+        boolean maximumCapture = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--depth": depth = Integer.parseInt(args[++i]); break;
+                case "--time": time = Long.parseLong(args[++i]); break;
+                case "--size": size = Integer.parseInt(args[++i]); break;
+                case "--flying": flying = true; break;
+                case "--max-capture": maximumCapture = true; break;
+                default: file = args[i]; break;
+            }
+        }
+        Rules rules = new Rules(BoardGeometry.of(size), flying, maximumCapture);
+        long timeLimit = time > 0 ? time : Long.MAX_VALUE / 2;
+        BatchAnalyzer analyzer = new BatchAnalyzer(rules, Math.max(1, threads), depth, timeLimit,
+                new PrintStream(System.out, false, StandardCharsets.UTF_8));
+        try (BufferedReader reader = file.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+            analyzer.run(reader);
+        }
+    }
+}
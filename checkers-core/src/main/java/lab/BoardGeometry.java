@@ -0,0 +1,249 @@
+/*
+ * BoardGeometry
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.Arrays;
+
+/**
+ * Board size dependent tables of the bitboard engine.
+ *
+ * Playable squares are bits of a long. Rows are padded with one ghost square
+ * (bit = (row * (size + 1) + col) / 2), so every diagonal step is a plain shift
+ * by size / 2 or size / 2 + 1 bits and moves over the edge land on a ghost square
+ * outside the valid mask. 8x8 uses 36 bits, 10x10 uses 55 bits for its 50 squares.
+ */
+public final class BoardGeometry {
+    // direction 0 = (+1,-1), 1 = (+1,+1), 2 = (-1,-1), 3 = (-1,+1)
+    private static final int[][] STEPS = {{1, -1}, {1, 1}, {-1, -1}, {-1, 1}};
+
+    public static final BoardGeometry CHECKERS = new BoardGeometry(8);
+    public static final BoardGeometry INTERNATIONAL = new BoardGeometry(10);
+
+    private final int size;
+    private final int pieceRows;
+    private final int shortShift;
+    private final int longShift;
+    private final long valid;
+    private final long interior;
+    private final long whitePromotion;
+    private final long blackPromotion;
+    private final long whiteStart;
+    private final long blackStart;
+    private final int[][] neighbor = new int[4][64];
+    // all squares from a square to the edge in one direction, the square itself excluded
+    private final long[][] ray = new long[4][64];
+    private final int[] delta;
+    private final int[] rowOf = new int[64];
+    private final int[] colOf = new int[64];
+
+    private BoardGeometry(int size) {
+        this.size = size;
+        this.pieceRows = (size - 2) / 2;
+        this.shortShift = size / 2;
+        this.longShift = size / 2 + 1;
+        this.delta = new int[]{shortShift, longShift, -longShift, -shortShift};
+
+        long validBits = 0;
+        long whitePromo = 0;
+        long blackPromo = 0;
+        long whiteInit = 0;
+        long blackInit = 0;
+        Arrays.fill(rowOf, -1);
+        Arrays.fill(colOf, -1);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if ((row + col) % 2 != 0) continue;
+                int sq = square(row, col);
+                long bit = 1L << sq;
+                validBits |= bit;
+                rowOf[sq] = row;
+                colOf[sq] = col;
+                if (row == size - 1) whitePromo |= bit;
+                if (row == 0) blackPromo |= bit;
+                if (row < pieceRows) whiteInit |= bit;
+                if (row >= size - pieceRows) blackInit |= bit;
+            }
+        }
+        this.valid = validBits;
+        this.whitePromotion = whitePromo;
+        this.blackPromotion = blackPromo;
+        this.whiteStart = whiteInit;
+        this.blackStart = blackInit;
+
+        for (int d = 0; d < 4; d++) {
+            Arrays.fill(neighbor[d], -1);
+            for (int sq = 0; sq < 64; sq++) {
+                if (rowOf[sq] < 0) continue;
+                int r = rowOf[sq] + STEPS[d][0];
+                int c = colOf[sq] + STEPS[d][1];
+                if (contains(r, c)) {
+                    neighbor[d][sq] = square(r, c);
+                }
+            }
+        }
+        long inner = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            if (rowOf[sq] > 0 && rowOf[sq] < size - 1 && colOf[sq] > 0 && colOf[sq] < size - 1) {
+                inner |= 1L << sq;
+            }
+        }
+        this.interior = inner;
+
+        for (int d = 0; d < 4; d++) {
+            for (int sq = 0; sq < 64; sq++) {
+                if (rowOf[sq] < 0) continue;
+                for (int next = neighbor[d][sq]; next >= 0; next = neighbor[d][next]) {
+                    ray[d][sq] |= 1L << next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Geometry for given board size, only 8 and 10 are supported.
+     */
+    public static BoardGeometry of(int size) {
+        switch (size) {
+            case 8: return CHECKERS;
+            case 10: return INTERNATIONAL;
+            default: throw new IllegalArgumentException("Nepodporovaná velikost desky: " + size);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Number of rows filled with men at the start, 3 on 8x8 and 4 on 10x10.
+     */
+    public int getPieceRows() {
+        return pieceRows;
+    }
+
+    public long getValid() {
+        return valid;
+    }
+
+    /**
+     * Squares not on the edge, only pieces standing there can ever be captured.
+     */
+    public long getInterior() {
+        return interior;
+    }
+
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+
+    public int square(int row, int col) {
+        return (row * (size + 1) + col) / 2;
+    }
+
+    public int row(int square) {
+        return rowOf[square];
+    }
+
+    public int col(int square) {
+        return colOf[square];
+    }
+
+    public int neighbor(int direction, int square) {
+        return neighbor[direction][square];
+    }
+
+    /**
+     * Direction of a diagonal step or slide by given row and column difference, -1 if not diagonal.
+     */
+    public static int direction(int dRow, int dCol) {
+        if (dRow == 0 || Math.abs(dRow) != Math.abs(dCol)) return -1;
+        if (dRow > 0) return dCol < 0 ? 0 : 1;
+        return dCol < 0 ? 2 : 3;
+    }
+
+    public long ray(int direction, int square) {
+        return ray[direction][square];
+    }
+
+    /**
+     * Nearest occupied square from given square in given direction, -1 if the way to the edge is free.
+     * Directions 0 and 1 go to higher bits, so the nearest is the lowest bit, otherwise the highest.
+     */
+    public int firstBlocker(int direction, int square, long occupied) {
+        long hits = ray[direction][square] & occupied;
+        if (hits == 0) return -1;
+        return direction < 2 ? Long.numberOfTrailingZeros(hits) : 63 - Long.numberOfLeadingZeros(hits);
+    }
+
+    /**
+     * Empty squares a sliding piece reaches from given square before the first blocker.
+     */
+    public long slide(int direction, int square, long occupied) {
+        int blocker = firstBlocker(direction, square, occupied);
+        return blocker < 0 ? ray[direction][square] : ray[direction][square] & ~ray[direction][blocker] & ~(1L << blocker);
+    }
+
+    /**
+     * Bit distance of one step in given direction.
+     */
+    public int delta(int direction) {
+        return delta[direction];
+    }
+
+    /**
+     * Shifts all bits one diagonal step in given direction.
+     */
+    public long shift(long bits, int direction) {
+        switch (direction) {
+            case 0: return (bits << shortShift) & valid;
+            case 1: return (bits << longShift) & valid;
+            case 2: return (bits >>> longShift) & valid;
+            default: return (bits >>> shortShift) & valid;
+        }
+    }
+
+    public long promotionRow(boolean forWhite) {
+        return forWhite ? whitePromotion : blackPromotion;
+    }
+
+    public long startingPieces(boolean white) {
+        return white ? whiteStart : blackStart;
+    }
+
+    public String squareName(int square) {
+        return squareName(rowOf[square], colOf[square]);
+    }
+
+    /**
+     * Square name like "c3", column letter and row number from 1.
+     */
+    public static String squareName(int row, int col) {
+        return "" + (char) ('a' + col) + (row + 1);
+    }
+
+    /**
+     * Parses square name like "c3", returns -1 for text which is not a playable square.
+     */
+    public int parseSquare(String name) {
+        if (name.length() < 2) return -1;
+        int col = name.charAt(0) - 'a';
+        int row;
+        try {
+            row = Integer.parseInt(name.substring(1)) - 1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        if (!contains(row, col) || (row + col) % 2 != 0) return -1;
+        return square(row, col);
+    }
+
+    @Override
+    public String toString() {
+        return size + "x" + size;
+    }
+}
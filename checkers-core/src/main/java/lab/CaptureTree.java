@@ -0,0 +1,222 @@
+/*
+ * CaptureTree
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds capture sequences taking the maximum number of pieces.
+ *
+ * Captured pieces are removed immediately, so the rest of a sequence depends only on
+ * the moving piece, its square and the set of pieces taken so far. The longest
+ * continuation of every such state is computed once and kept in a small hash table,
+ * so positions where many landing orders lead to the same state (typical for several
+ * flying kings) are not searched again. A state stops searching as soon as it takes
+ * every opponent piece that can be captured at all (pieces on the edge cannot be).
+ * The moves are then emitted by following only transitions which still reach the maximum.
+ *
+ * One instance per thread is reused; the memo is invalidated by a generation stamp
+ * instead of clearing, so a position with a short capture costs no allocation.
+ */
+final class CaptureTree {
+    private static final ThreadLocal<CaptureTree> INSTANCE = ThreadLocal.withInitial(CaptureTree::new);
+
+    private static final int MAX_DEPTH = 32;
+    // 4 directions with at most 9 landing squares on 10x10
+    private static final int MAX_TRANSITIONS = 40;
+
+    private Position pos;
+    private BoardGeometry g;
+    private boolean flying;
+    private boolean white;
+    private long opp;
+    private long capturable;
+    private long promotion;
+    private final int[] oppIndex = new int[64];
+    private final int[] longestFrom = new int[64];
+
+    private final int[][] mids = new int[MAX_DEPTH][MAX_TRANSITIONS];
+    private final int[][] lands = new int[MAX_DEPTH][MAX_TRANSITIONS];
+    private final int[] path = new int[MAX_DEPTH];
+
+    // memo: key is (from, square, captured pieces as opponent indexes), valid only with current stamp
+    private long[] keys = new long[1024];
+    private byte[] values = new byte[1024];
+    private int[] stamps = new int[1024];
+    private int stamp = 0;
+    private int stored = 0;
+
+    private int from;
+    private boolean king;
+
+    private CaptureTree() {
+    }
+
+    /**
+     * Adds all capture sequences of maximum length starting from given pieces of the side to move.
+     */
+    static void collectMaximal(Position pos, long jumpers, List<Move> moves) {
+        INSTANCE.get().collect(pos, jumpers, moves);
+    }
+
+    private void collect(Position pos, long jumpers, List<Move> moves) {
+        this.pos = pos;
+        this.g = pos.getGeometry();
+        this.flying = pos.getRules().isFlyingKings();
+        this.white = pos.isWhiteToMove();
+        this.opp = pos.getOpponent();
+        this.capturable = opp & g.getInterior();
+        this.promotion = g.promotionRow(white);
+        int index = 0;
+        for (long bits = opp; bits != 0; bits &= bits - 1) {
+            oppIndex[Long.numberOfTrailingZeros(bits)] = index++;
+        }
+        if (++stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+        stored = 0;
+
+        int best = 0;
+        for (long bits = jumpers; bits != 0; bits &= bits - 1) {
+            select(Long.numberOfTrailingZeros(bits));
+            longestFrom[from] = longest(from, 0, 0, 0);
+            best = Math.max(best, longestFrom[from]);
+        }
+        for (long bits = jumpers; bits != 0; bits &= bits - 1) {
+            select(Long.numberOfTrailingZeros(bits));
+            if (longestFrom[from] == best) {
+                emit(from, 0, 0, 0, best, moves);
+            }
+        }
+    }
+
+    private void select(int square) {
+        this.from = square;
+        this.king = (pos.getKings() & (1L << square)) != 0;
+    }
+
+    private int longest(int square, long captured, int capturedIndex, int depth) {
+        long key = (((long) capturedIndex << 6) | from) << 6 | square;
+        int slot = find(key);
+        if (stamps[slot] == stamp) {
+            return values[slot];
+        }
+
+        int bound = Long.bitCount(capturable & ~captured);
+        int result = 0;
+        int count = transitions(square, captured, depth);
+        for (int i = 0; i < count && result < bound; i++) {
+            int mid = mids[depth][i];
+            int land = lands[depth][i];
+            int length = 1;
+            if (king || (promotion & (1L << land)) == 0) {
+                length += longest(land, captured | (1L << mid), capturedIndex | (1 << oppIndex[mid]), depth + 1);
+            }
+            result = Math.max(result, length);
+        }
+        store(key, result);
+        return result;
+    }
+
+    private void emit(int square, long captured, int capturedIndex, int depth, int remaining, List<Move> moves) {
+        if (remaining == 0) {
+            moves.add(new Move(g, from, Arrays.copyOf(path, depth), captured));
+            return;
+        }
+        int count = transitions(square, captured, depth);
+        for (int i = 0; i < count; i++) {
+            int mid = mids[depth][i];
+            int land = lands[depth][i];
+            long nextCaptured = captured | (1L << mid);
+            int nextIndex = capturedIndex | (1 << oppIndex[mid]);
+            boolean promotes = !king && (promotion & (1L << land)) != 0;
+            int rest = promotes ? 0 : longest(land, nextCaptured, nextIndex, depth + 1);
+            if (rest == remaining - 1) {
+                path[depth] = land;
+                emit(land, nextCaptured, nextIndex, depth + 1, rest, moves);
+            }
+        }
+    }
+
+    /**
+     * Fills possible (captured square, landing square) pairs of the state, returns their count.
+     */
+    private int transitions(int square, long captured, int depth) {
+        long oppLeft = opp & ~captured;
+        long empty = (pos.getEmpty() | (1L << from) | captured) & ~(1L << square);
+        int[] mid = mids[depth];
+        int[] land = lands[depth];
+        int count = 0;
+        if (king && flying) {
+            long occupied = g.getValid() & ~empty;
+            for (int d = 0; d < 4; d++) {
+                int blocker = g.firstBlocker(d, square, occupied);
+                if (blocker < 0 || (oppLeft & (1L << blocker)) == 0) continue;
+                for (long landings = g.slide(d, blocker, occupied); landings != 0; landings &= landings - 1) {
+                    mid[count] = blocker;
+                    land[count++] = Long.numberOfTrailingZeros(landings);
+                }
+            }
+            return count;
+        }
+        for (int d = 0; d < 4; d++) {
+            if (!king && (white ? d >= 2 : d < 2)) continue;
+            int over = g.neighbor(d, square);
+            if (over < 0 || (oppLeft & (1L << over)) == 0) continue;
+            int to = g.neighbor(d, over);
+            if (to < 0 || (empty & (1L << to)) == 0) continue;
+            mid[count] = over;
+            land[count++] = to;
+        }
+        return count;
+    }
+
+    /**
+     * Slot holding the key, or the free slot where it belongs.
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (stamps[slot] == stamp && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void store(long key, int value) {
+        if (stored * 2 >= keys.length) {
+            grow();
+        }
+        int slot = find(key);
+        if (stamps[slot] != stamp) {
+            stored++;
+        }
+        keys[slot] = key;
+        values[slot] = (byte) value;
+        stamps[slot] = stamp;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        byte[] oldValues = values;
+        int[] oldStamps = stamps;
+        keys = new long[oldKeys.length * 2];
+        values = new byte[oldValues.length * 2];
+        stamps = new int[oldStamps.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStamps[i] == stamp) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                stamps[slot] = stamp;
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * ClickRecorder
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records the board clicks of one game, so real sessions can be replayed later.
+ *
+ * A stream is stored as one line:
+ * <pre>rules;row,col row,col ...</pre>
+ * with the rules written as in {@link GameArchive}. The clicks are stored as they came,
+ * including the invalid ones, and start from the initial position.
+ */
+public class ClickRecorder {
+
+    /**
+     * Recorded clicks of one game.
+     */
+    public static final class Stream {
+        private final Rules rules;
+        private final int[][] clicks;
+
+        public Stream(Rules rules, int[][] clicks) {
+            this.rules = rules;
+            this.clicks = clicks;
+        }
+
+        public Rules getRules() { return rules; }
+        /** Clicks in order as {row, col}. */
+        public int[][] getClicks() { return clicks; }
+
+        /**
+         * The stream cut after the given number of clicks.
+         */
+        public Stream prefix(int length) {
+            return new Stream(rules, Arrays.copyOf(clicks, Math.min(length, clicks.length)));
+        }
+
+        public String format() {
+            StringBuilder sb = new StringBuilder(GameArchive.rulesCode(rules)).append(';');
+            for (int i = 0; i < clicks.length; i++) {
+                if (i > 0) sb.append(' ');
+                sb.append(clicks[i][0]).append(',').append(clicks[i][1]);
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Parses one line, throws IllegalArgumentException when it is broken.
+         */
+        public static Stream parse(String line) {
+            int separator = line.indexOf(';');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Neplatný záznam kliknutí: " + line);
+            }
+            Rules rules = GameArchive.parseRules(line.substring(0, separator).trim());
+            List<int[]> clicks = new ArrayList<>();
+            for (String click : line.substring(separator + 1).trim().split(" ")) {
+                if (click.isEmpty()) continue;
+                int comma = click.indexOf(',');
+                try {
+                    clicks.add(new int[]{Integer.parseInt(click.substring(0, comma)),
+                            Integer.parseInt(click.substring(comma + 1))});
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Neplatné kliknutí: " + click);
+                }
+            }
+            return new Stream(rules, clicks.toArray(new int[0][]));
+        }
+    }
+
+    private final Rules rules;
+    private final List<int[]> clicks = new ArrayList<>();
+
+    public ClickRecorder(Rules rules) {
+        this.rules = rules;
+    }
+
+    public synchronized void record(int row, int col) {
+        clicks.add(new int[]{row, col});
+    }
+
+    public synchronized boolean isEmpty() {
+        return clicks.isEmpty();
+    }
+
+    public synchronized Stream toStream() {
+        return new Stream(rules, clicks.toArray(new int[0][]));
+    }
+
+    /**
+     * Appends the recorded clicks as one line to the file, nothing is written when there are none.
+     */
+    public void appendTo(Path file) throws IOException {
+        if (isEmpty()) return;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, toStream().format() + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Reads all streams of the file, broken lines are reported on stderr and skipped.
+     */
+    public static List<Stream> read(Path file) throws IOException {
+        List<Stream> streams = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                try {
+                    streams.add(Stream.parse(line));
+                } catch (IllegalArgumentException e) {
+                    System.err.println(file + ":" + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        return streams;
+    }
+}
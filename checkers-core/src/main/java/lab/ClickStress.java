@@ -0,0 +1,318 @@
+/*
+ * ClickStress
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Load and stress test of {@link GameModel#handleTileClick} without the UI.
+ *
+ * Click streams recorded by {@link ClickRecorder} are replayed together with generated
+ * ones: legal games played click by click, the same games with random, repeated and
+ * out of board clicks mixed in, and purely random clicks. Every stream gets its own
+ * model with stubbed callbacks, the streams are spread over a thread pool and every
+ * thread has its own {@link DataManager} in a temporary directory, as the data manager
+ * is not thread safe.
+ *
+ * After every click the model is checked: no two pieces on one square, pieces only on
+ * playable squares, a finished turn must be a legal move of the side to move from the
+ * position the turn started in, the game must end exactly when a side cannot move or a
+ * draw rule of {@link DrawTracker} applies, and clicks which finish no turn must leave the position
+ * as it was. A stream stops at its first exception or violation, the first few are
+ * printed as click stream lines cut after the failing click, so they can be replayed.
+ * Clicks per second, click latency percentiles and the failures are reported at the end,
+ * the exit status is 1 when there were any.
+ *
+ * Usage: ClickStress [--streams file] [--games n] [--threads t] [--no-check] [--seed s] [--size 8|10] [--flying] [--max-capture]
+ */
+public class ClickStress {
+    private static final int MAX_MOVES = 300;
+    private static final int REPORTED_FAILURES = 5;
+
+    private final boolean check;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong clicks = new AtomicLong();
+    private final AtomicLong turns = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong gamesEnded = new AtomicLong();
+    private final AtomicLong gamesDrawn = new AtomicLong();
+    private final AtomicInteger exceptions = new AtomicInteger();
+    private final AtomicInteger violations = new AtomicInteger();
+    private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+    private final ThreadLocal<DataManager> dataManagers = new ThreadLocal<>();
+    private final List<Path> dataDirs = Collections.synchronizedList(new ArrayList<>());
+
+    public ClickStress(boolean check) {
+        this.check = check;
+    }
+
+    /**
+     * Clicks of a random legal game from the initial position.
+     */
+    static List<int[]> legalClicks(Rules rules, Random random) {
+        List<int[]> clicks = new ArrayList<>();
+        Position pos = Position.initial(rules);
+        for (int i = 0; i < MAX_MOVES; i++) {
+            List<Move> moves = MoveGenerator.generate(pos);
+            if (moves.isEmpty()) break;
+            Move move = moves.get(random.nextInt(moves.size()));
+            Collections.addAll(clicks, move.toClicks());
+            pos = pos.play(move);
+        }
+        return clicks;
+    }
+
+    /**
+     * The clicks with random ones mixed in: any square, a square off the board, or the last click again.
+     */
+    static List<int[]> noisyClicks(Rules rules, List<int[]> legal, Random random) {
+        int size = rules.getGeometry().getSize();
+        List<int[]> clicks = new ArrayList<>();
+        for (int[] click : legal) {
+            while (random.nextInt(4) == 0) {
+                switch (random.nextInt(3)) {
+                    case 0: clicks.add(new int[]{random.nextInt(size), random.nextInt(size)}); break;
+                    case 1: clicks.add(new int[]{random.nextInt(size + 4) - 2, random.nextBoolean() ? -1 : size}); break;
+                    default: if (!clicks.isEmpty()) clicks.add(clicks.get(clicks.size() - 1)); break;
+                }
+            }
+            clicks.add(click);
+        }
+        return clicks;
+    }
+
+    static List<int[]> randomClicks(Rules rules, int count, Random random) {
+        int size = rules.getGeometry().getSize();
+        List<int[]> clicks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            clicks.add(new int[]{random.nextInt(size), random.nextInt(size)});
+        }
+        return clicks;
+    }
+
+    private static ClickRecorder.Stream stream(Rules rules, List<int[]> clicks) {
+        return new ClickRecorder.Stream(rules, clicks.toArray(new int[0][]));
+    }
+
+    private DataManager dataManager() throws IOException {
+        DataManager dataManager = dataManagers.get();
+        if (dataManager == null) {
+            Path dir = Files.createTempDirectory("clickstress");
+            dataDirs.add(dir);
+            dataManager = new DataManager(dir.toString());
+            dataManager.setAutoSave(false);
+            dataManagers.set(dataManager);
+        }
+        return dataManager;
+    }
+
+    /**
+     * Replays one stream on a new model, checking it after every click.
+     */
+    void replay(ClickRecorder.Stream stream) {
+        int[][] streamClicks = stream.getClicks();
+        int clicked = 0;
+        try {
+            DataManager dataManager = dataManager();
+            GameModel model = new GameModel(stream.getRules(), dataManager.loginPlayer("bily"),
+                    dataManager.loginPlayer("cerny"), dataManager,
+                    message -> messages.incrementAndGet(), winner -> gamesEnded.incrementAndGet());
+            Position turnStart = Position.fromModel(model);
+            DrawTracker draws = new DrawTracker(turnStart.getHash());
+            for (int[] click : streamClicks) {
+                clicked++;
+                long start = System.nanoTime();
+                model.handleTileClick(click[0], click[1]);
+                latency.record(System.nanoTime() - start);
+                clicks.incrementAndGet();
+                if (!check) continue;
+
+                String violation = piecePlacement(model);
+                if (violation == null) {
+                    Position now = Position.fromModel(model);
+                    if (now.isWhiteToMove() != turnStart.isWhiteToMove()) {
+                        violation = finishedTurn(turnStart, now, model, draws);
+                        turns.incrementAndGet();
+                        turnStart = now;
+                    } else if (model.isMustContinueJump()) {
+                        violation = jump(turnStart, now);
+                    } else if (!now.equals(turnStart)) {
+                        violation = "pozice se změnila bez dokončeného tahu";
+                    }
+                }
+                if (violation != null) {
+                    violations.incrementAndGet();
+                    report(violation, stream.prefix(clicked));
+                    return;
+                }
+            }
+            if (model.isDraw()) {
+                gamesDrawn.incrementAndGet();
+            }
+        } catch (Throwable e) {
+            exceptions.incrementAndGet();
+            report(e.toString(), stream.prefix(clicked));
+        }
+    }
+
+    private static String piecePlacement(GameModel model) {
+        BoardGeometry geometry = model.getGeometry();
+        long occupied = 0;
+        for (Piece p : model.getPieces()) {
+            if (!geometry.contains(p.getRow(), p.getCol()) || (p.getRow() + p.getCol()) % 2 != 0) {
+                return "kámen mimo hrací pole " + p.getRow() + "," + p.getCol();
+            }
+            long bit = 1L << geometry.square(p.getRow(), p.getCol());
+            if ((occupied & bit) != 0) {
+                return "dva kameny na poli " + BoardGeometry.squareName(p.getRow(), p.getCol());
+            }
+            occupied |= bit;
+        }
+        return null;
+    }
+
+    private static String finishedTurn(Position before, Position after, GameModel model, DrawTracker draws) {
+        Move played = null;
+        for (Move move : MoveGenerator.generate(before)) {
+            if (before.play(move).equals(after)) {
+                played = move;
+                break;
+            }
+        }
+        if (played == null) {
+            return "tah není legální pro " + (before.isWhiteToMove() ? "bílého" : "černého")
+                    + ": " + before.toFen() + " -> " + after.toFen();
+        }
+        draws.add(after.getHash(), DrawTracker.isIrreversible(before, played));
+        boolean blocked = MoveGenerator.outcome(after) != 0;
+        if (model.isGameEnded() != (blocked || draws.isDraw())) {
+            return model.isGameEnded() ? "hra skončila, ale mohla pokračovat: " + after.toFen()
+                    : "hra neskončila: " + after.toFen();
+        }
+        if (model.isDraw() != (!blocked && draws.isDraw())) {
+            return (model.isDraw() ? "nečekaná remíza: " : "chybí remíza: ") + after.toFen();
+        }
+        return null;
+    }
+
+    /**
+     * In the middle of a capture only the mover's piece moved and opponent pieces were removed.
+     */
+    private static String jump(Position before, Position now) {
+        long ownBefore = before.getOwn();
+        long ownNow = now.getOwn();
+        if (Long.bitCount(ownNow) != Long.bitCount(ownBefore) || Long.bitCount(ownNow & ~ownBefore) > 1) {
+            return "během skákání se změnily vlastní kameny: " + now.toFen();
+        }
+        if ((now.getOpponent() & ~before.getOpponent()) != 0
+                || Long.bitCount(now.getOpponent()) >= Long.bitCount(before.getOpponent())) {
+            return "skákání nevzalo kámen: " + now.toFen();
+        }
+        return null;
+    }
+
+    private void report(String failure, ClickRecorder.Stream stream) {
+        if (failures.size() < REPORTED_FAILURES) {
+            failures.add(failure + System.lineSeparator() + "  " + stream.format());
+        }
+    }
+
+    public boolean run(List<ClickRecorder.Stream> streams, int threads) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        for (ClickRecorder.Stream stream : streams) {
+            pool.execute(() -> replay(stream));
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.DAYS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("proudy: %d, vlákna: %d, doba: %.1f s%s%n", streams.size(), threads, seconds,
+                check ? "" : " (bez kontrol)");
+        System.out.printf("kliknutí: %d (%.0f kliknutí/s), tahy: %d, hlášky: %d, dohrané hry: %d (remízy %d)%n",
+                clicks.get(), clicks.get() / seconds, turns.get(), messages.get(), gamesEnded.get(), gamesDrawn.get());
+        System.out.printf("latence kliknutí: p50 %.1f µs, p90 %.1f µs, p99 %.1f µs, p99.9 %.1f µs, max %.1f ms%n",
+                latency.percentile(50) / 1e3, latency.percentile(90) / 1e3, latency.percentile(99) / 1e3,
+                latency.percentile(99.9) / 1e3, latency.getMax() / 1e6);
+        System.out.printf("výjimky: %d, porušení pravidel: %d%n", exceptions.get(), violations.get());
+        for (String failure : failures) {
+            System.out.println(failure);
+        }
+        return exceptions.get() == 0 && violations.get() == 0;
+    }
+
+    private void deleteDataDirs() throws IOException {
+        for (Path dir : dataDirs) {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path recorded = Path.of("data/clicks.txt");
+        int games = 2000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean check = true;
+        long seed = 1;
+        int size = 8;
+        boolean flying = false;
+        boolean maximumCapture = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--streams": recorded = Path.of(args[++i]); break;
+                case "--games": games = Integer.parseInt(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--no-check": check = false; break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--size": size = Integer.parseInt(args[++i]); break;
+                case "--flying": flying = true; break;
+                case "--max-capture": maximumCapture = true; break;
+                default: break;
+            }
+        }
+        Rules rules = new Rules(BoardGeometry.of(size), flying, maximumCapture);
+
+        List<ClickRecorder.Stream> streams = new ArrayList<>();
+        if (Files.exists(recorded)) {
+            streams.addAll(ClickRecorder.read(recorded));
+            System.out.println("nahrané proudy: " + streams.size() + " z " + recorded);
+        }
+        Random random = new Random(seed);
+        for (int i = 0; i < games; i++) {
+            List<int[]> legal = legalClicks(rules, random);
+            streams.add(stream(rules, legal));
+            streams.add(stream(rules, noisyClicks(rules, legal, random)));
+            streams.add(stream(rules, randomClicks(rules, legal.size(), random)));
+        }
+
+        ClickStress stress = new ClickStress(check);
+        boolean passed;
+        try {
+            passed = stress.run(streams, threads);
+        } finally {
+            stress.deleteDataDirs();
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+}
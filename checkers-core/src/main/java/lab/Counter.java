@@ -0,0 +1,33 @@
+/*
+ * Counter
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, cheap to increment from many threads.
+ */
+public class Counter {
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    public void reset() {
+        value.reset();
+    }
+}
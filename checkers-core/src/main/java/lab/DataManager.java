@@ -0,0 +1,613 @@
+/*
+ * DataManager
+ *
+ * Version 1.1
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+import java.io.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Manages saving and loading player data and game results.
+ */
+public class DataManager {
+    private static final LatencyHistogram SAVE_TIME = Metrics.histogram("data.save");
+    private static final LatencyHistogram LOAD_TIME = Metrics.histogram("data.load");
+    private static final Counter RESULTS_ADDED = Metrics.counter("data.resultsAdded");
+    private static final Counter SNAPSHOT_LOADS = Metrics.counter("data.snapshotLoads");
+    private static final Counter CSV_LOADS = Metrics.counter("data.csvLoads");
+
+    private static final String DATA_DIR = "data/";
+    private static final String PLAYERS_HEADER = "name,gamesPlayed,gamesWon,totalMoves,totalTime,gamesDrawn";
+    private static final String RESULTS_HEADER = "white,black,winner,moves,duration,timestamp";
+    private final String dataDir;
+    private final String playersFile;
+    private final String resultsFile;
+    private final String gamesFile;
+    private final String snapshotFile;
+    private final int expectedCsvColumns = 5;
+
+    private final Map<String, Player> players;
+    private final PlayerDictionary dictionary = new PlayerDictionary();
+    // ordered by time
+    private ResultStore results = new ResultStore(dictionary);
+    // built from the results on first use, so loading only reads the results
+    private ResultTimeIndex timeIndex;
+    private Ratings ratings;
+    private HeadToHead headToHead;
+    // archived games not appended to the games file yet
+    private final List<String> pendingGames = new ArrayList<>();
+    // results not in the results file yet as CSV rows, the file is appended, not rewritten
+    private final List<String> pendingResults = new ArrayList<>();
+    // the results file must be written whole: it is missing or in an older format
+    private boolean resultsNeedRewrite = true;
+    // background writes, see flushInBackground(); the failure fields are set by the writer
+    private ExecutorService writer;
+    private volatile boolean writeFailed = false;
+    private final Queue<String> failedGames = new ConcurrentLinkedQueue<>();
+
+    // server writes files in batches instead of after every change
+    private boolean autoSave = true;
+    private boolean dirty = false;
+    // snapshot on disk matches the data and the CSV files
+    private volatile boolean snapshotCurrent = false;
+
+    public DataManager() {
+        this(DATA_DIR);
+    }
+
+    public DataManager(String dataDir) {
+        this.dataDir = dataDir.endsWith("/") ? dataDir : dataDir + "/";
+        this.playersFile = this.dataDir + "players.csv";
+        this.resultsFile = this.dataDir + "results.csv";
+        this.gamesFile = this.dataDir + "games.txt";
+        this.snapshotFile = this.dataDir + "snapshot.bin";
+        players = new HashMap<>();
+        ensureDataDirectory();
+        loadData();
+    }
+
+    /**
+     * Loads the data on a background thread, the future completes when it is ready
+     * together with the statistics built from it, see {@link #buildStatistics()}.
+     */
+    public static CompletableFuture<DataManager> loadAsync(String dataDir) {
+        CompletableFuture<DataManager> future = new CompletableFuture<>();
+        Thread loader = new Thread(() -> {
+            try {
+                DataManager manager = new DataManager(dataDir);
+                manager.buildStatistics();
+                future.complete(manager);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }, "data-loader");
+        loader.setDaemon(true);
+        loader.start();
+        return future;
+    }
+
+    public static CompletableFuture<DataManager> loadAsync() {
+        return loadAsync(DATA_DIR);
+    }
+
+    private void ensureDataDirectory() {
+        File dir = new File(dataDir);
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+    }
+
+    public void loadData() {
+        long start = System.nanoTime();
+        DataSnapshot.Contents snapshot = DataSnapshot.read(Path.of(snapshotFile),
+                DataSnapshot.stamp(playersFile, resultsFile), dictionary);
+        if (snapshot != null) {
+            for (Player player : snapshot.getPlayers()) {
+                players.put(player.getName(), player);
+            }
+            results = snapshot.getResults();
+            snapshotCurrent = true;
+            resultsNeedRewrite = false;
+            SNAPSHOT_LOADS.increment();
+        } else {
+            loadPlayers();
+            results = new ResultStore(dictionary);
+            loadResults();
+            CSV_LOADS.increment();
+        }
+        timeIndex = null;
+        ratings = null;
+        headToHead = null;
+        LOAD_TIME.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Loads player data from CSV.
+     */
+    private void loadPlayers() {
+        File file = new File(playersFile);
+        if (!file.exists()) {
+            return;
+        }
+
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String header = br.readLine();
+            if (header == null) {
+                return;
+            }
+
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (parts.length >= expectedCsvColumns) {
+                    String name = parts[0];
+                    int gamesPlayed = Integer.parseInt(parts[1]);
+                    int gamesWon = Integer.parseInt(parts[2]);
+                    int totalMoves = Integer.parseInt(parts[3]);
+                    long totalTime = Long.parseLong(parts[4]);
+                    // files written before draws were counted have 5 columns
+                    int gamesDrawn = parts.length > expectedCsvColumns ? Integer.parseInt(parts[5]) : 0;
+
+                    Player player = new Player(name);
+                    player.setStats(gamesPlayed, gamesWon, gamesDrawn, totalMoves, totalTime);
+                    players.put(name, player);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Chyba při načítání hráčů: " + e.getMessage());
+        }
+    }
+
+
+    private void loadResults() {
+        File file = new File(resultsFile);
+        if (!file.exists()) {
+            return;
+        }
+
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String header = br.readLine();
+            if (header == null) {
+                return;
+            }
+            resultsNeedRewrite = !header.equals(RESULTS_HEADER);
+
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (parts.length >= expectedCsvColumns) {
+                    String white = parts[0];
+                    String black = parts[1];
+                    String winner = parts[2];
+                    int moves = Integer.parseInt(parts[3]);
+                    long duration = Long.parseLong(parts[4]);
+                    // files written before the time column was added have 5 columns, their rows
+                    // get an unknown time: they stay first and are left out of time-range queries
+                    long timestamp = parts.length > expectedCsvColumns ? Long.parseLong(parts[5]) : ResultStore.UNKNOWN_TIME;
+
+                    byte side = winner.equals(white) ? ResultStore.WHITE_WON
+                            : winner.equals(black) ? ResultStore.BLACK_WON : ResultStore.DRAW;
+                    results.add(dictionary.id(white), dictionary.id(black), side, moves, duration, timestamp);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Chyba při načítání výsledků: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Save players to CSV file, the file is small and written whole.
+     */
+    private static void savePlayers(String file, List<String> rows) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+            writer.println(PLAYERS_HEADER);
+            for (String row : rows) {
+                writer.println(row);
+            }
+            if (writer.checkError()) throw new IOException(file);
+        }
+    }
+
+    private static String playerRow(Player player) {
+        // concatenated rather than formatted, the server builds these rows on its event loop
+        return player.getName() + ',' + player.getGamesPlayed() + ',' + player.getGamesWon() + ','
+                + player.getTotalMoves() + ',' + player.getTotalTimeMillis() + ',' + player.getGamesDrawn();
+    }
+
+    /**
+     * Rewrites the results file with all results of the store.
+     */
+    private static void rewriteResults(String file, ResultStore store) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(file)))) {
+            writer.println(RESULTS_HEADER);
+            for (int i = 0; i < store.size(); i++) {
+                writer.println(resultRow(store, i));
+            }
+            if (writer.checkError()) throw new IOException(file);
+        }
+    }
+
+    /**
+     * Appends new results to the results file, the rows already there are not touched.
+     */
+    private static void appendResults(String file, List<String> rows) throws IOException {
+        if (rows.isEmpty()) return;
+        boolean fresh = new File(file).length() == 0;
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(file, true)))) {
+            if (fresh) writer.println(RESULTS_HEADER);
+            for (String row : rows) {
+                writer.println(row);
+            }
+            if (writer.checkError()) throw new IOException(file);
+        }
+    }
+
+    private static String resultRow(ResultStore store, int i) {
+        PlayerDictionary names = store.getPlayers();
+        String white = names.name(store.getWhite(i));
+        String black = names.name(store.getBlack(i));
+        byte side = store.getWinner(i);
+        String winner = side == ResultStore.WHITE_WON ? white : side == ResultStore.BLACK_WON ? black : ResultStore.NO_WINNER;
+        return white + ',' + black + ',' + winner + ',' + store.getMoves(i) + ','
+                + store.getDuration(i) + ',' + store.getTime(i);
+    }
+
+    /**
+     * Appends archived games to the games file, which is never rewritten.
+     */
+    private static void saveGames(String file, List<String> games) throws IOException {
+        if (games.isEmpty()) return;
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file, true))) {
+            for (String game : games) {
+                writer.println(game);
+            }
+            if (writer.checkError()) throw new IOException(file);
+        }
+    }
+
+    /**
+     * Takes the changes since the last save as copies. The returned task writes them and
+     * touches nothing of this manager but the thread-safe failure fields, so it can run
+     * on another thread while the data keeps changing.
+     */
+    private Runnable takeChanges() {
+        if (writeFailed) {
+            // appended rows may be missing from the file, write it whole again
+            writeFailed = false;
+            resultsNeedRewrite = true;
+        }
+        List<String> playerRows = new ArrayList<>(players.size());
+        for (Player player : players.values()) {
+            playerRows.add(playerRow(player));
+        }
+        ResultStore allResults = resultsNeedRewrite ? results.copy() : null;
+        List<String> resultRows = new ArrayList<>(pendingResults);
+        List<String> games = new ArrayList<>();
+        for (String game; (game = failedGames.poll()) != null; ) {
+            games.add(game);
+        }
+        games.addAll(pendingGames);
+        pendingResults.clear();
+        pendingGames.clear();
+        resultsNeedRewrite = false;
+        dirty = false;
+        snapshotCurrent = false;
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                savePlayers(playersFile, playerRows);
+                if (allResults != null) {
+                    rewriteResults(resultsFile, allResults);
+                } else {
+                    appendResults(resultsFile, resultRows);
+                }
+            } catch (IOException e) {
+                writeFailed = true;
+                System.err.println("Chyba při ukládání dat: " + e.getMessage());
+            }
+            try {
+                saveGames(gamesFile, games);
+            } catch (IOException e) {
+                failedGames.addAll(games);
+                System.err.println("Chyba při ukládání záznamů her: " + e.getMessage());
+            }
+            SAVE_TIME.record(System.nanoTime() - start);
+        };
+    }
+
+    public void saveData() {
+        awaitBackgroundWrites();
+        takeChanges().run();
+    }
+
+    /**
+     * Saves pending changes and writes the binary snapshot read by the next start,
+     * unless the one on disk is still current. Called on shutdown and periodically.
+     */
+    public void writeSnapshot() {
+        flush();
+        if (snapshotCurrent) return;
+        // the stamp has to see the CSV files with all background writes done
+        awaitBackgroundWrites();
+        snapshotCurrent = true;
+        snapshotTask(players.values(), results).run();
+    }
+
+    /**
+     * Like {@link #flush()}, but only copies the changes on the calling thread and writes
+     * them on a background writer thread. Used by the server, whose event loop must not
+     * wait for the disk. Background writes run one at a time in the order they were asked for.
+     */
+    public void flushInBackground() {
+        if (dirty || writeFailed) {
+            writer().execute(takeChanges());
+        }
+    }
+
+    /**
+     * Like {@link #writeSnapshot()}, but the snapshot is written from copies of the data
+     * on the background writer thread, after the changes saved before it.
+     */
+    public void writeSnapshotInBackground() {
+        flushInBackground();
+        if (snapshotCurrent) return;
+        List<Player> copies = new ArrayList<>(players.size());
+        for (Player player : players.values()) {
+            Player copy = new Player(player.getName());
+            copy.setStats(player.getGamesPlayed(), player.getGamesWon(), player.getGamesDrawn(),
+                    player.getTotalMoves(), player.getTotalTimeMillis());
+            copies.add(copy);
+        }
+        snapshotCurrent = true;
+        writer().execute(snapshotTask(copies, results.copy()));
+    }
+
+    private Runnable snapshotTask(Collection<Player> players, ResultStore results) {
+        return () -> {
+            try {
+                DataSnapshot.write(Path.of(snapshotFile), DataSnapshot.stamp(playersFile, resultsFile),
+                        players, results);
+            } catch (IOException e) {
+                snapshotCurrent = false;
+                System.err.println("Chyba při ukládání snímku dat: " + e.getMessage());
+            }
+        };
+    }
+
+    private ExecutorService writer() {
+        if (writer == null) {
+            writer = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "data-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return writer;
+    }
+
+    /**
+     * Waits until the writes handed to the background writer are done.
+     */
+    private void awaitBackgroundWrites() {
+        if (writer == null) return;
+        try {
+            writer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Turns off saving after every change, changes are written by {@link #flush()}.
+     */
+    public void setAutoSave(boolean autoSave) {
+        this.autoSave = autoSave;
+    }
+
+    /**
+     * Writes data only if something changed since last save.
+     */
+    public void flush() {
+        if (dirty || writeFailed) {
+            saveData();
+        }
+    }
+
+    private void changed() {
+        dirty = true;
+        if (autoSave) {
+            saveData();
+        }
+    }
+
+    /**
+     * Logs in a player or creates new one.
+     */
+    public Player loginPlayer(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Jméno hráče nesmí být prázdné.");
+        }
+
+        String key = name.trim();
+        // the files write the winner of a draw as this name, a player of that name would be a draw
+        if (key.equals(ResultStore.NO_WINNER)) {
+            throw new IllegalArgumentException("Jméno \"" + ResultStore.NO_WINNER + "\" je vyhrazené pro remízu.");
+        }
+
+        if (players.containsKey(key)) {
+            return players.get(key);
+        }
+
+        Player player = new Player(key);
+        players.put(key, player);
+        changed();
+        return player;
+    }
+
+    /**
+     * Queues a game record in {@link GameArchive} format, it is written with the next save.
+     */
+    public void archiveGame(String record) {
+        pendingGames.add(record);
+    }
+
+    public String getGamesFile() {
+        return gamesFile;
+    }
+
+    /** File the recorded click streams are appended to, see {@link ClickRecorder}. */
+    public String getClicksFile() {
+        return dataDir + "clicks.txt";
+    }
+
+    /**
+     * Adds game result and updates player stats.
+     */
+    public void addGameResult(GameResult result) {
+        FlightEvents.ResultPersistEvent event = new FlightEvents.ResultPersistEvent();
+        event.begin();
+        int index = results.add(result);
+        byte side = results.getWinner(index);
+        pendingResults.add(resultRow(results, index));
+        if (timeIndex != null) timeIndex.add(index);
+        if (headToHead != null) headToHead.add(index);
+        if (ratings != null) ratings.record(results.getWhite(index), results.getBlack(index), side);
+        RESULTS_ADDED.increment();
+
+        //update
+        Player whitePlayer = players.get(result.getWhitePlayerName());
+        Player blackPlayer = players.get(result.getBlackPlayerName());
+
+        if (whitePlayer != null) {
+            whitePlayer.addGameResult(side == ResultStore.WHITE_WON, side == ResultStore.DRAW,
+                    result.getTotalMoves(), result.getGameDurationMillis());
+        }
+
+        if (blackPlayer != null) {
+            blackPlayer.addGameResult(side == ResultStore.BLACK_WON, side == ResultStore.DRAW,
+                    result.getTotalMoves(), result.getGameDurationMillis());
+        }
+
+        changed();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.white = result.getWhitePlayerName();
+            event.black = result.getBlackPlayerName();
+            event.winner = result.getWinner();
+            event.written = autoSave;
+            event.results = results.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * All results in time order as a read-only view, see {@link ResultStore#asList()}.
+     */
+    public List<GameResult> getAllResults() {
+        return results.asList();
+    }
+
+    /**
+     * All results as primitive records, for scans which do not need result objects.
+     */
+    public ResultStore getResults() {
+        return results;
+    }
+
+
+
+    /**
+     * Results from (inclusive) to (exclusive) in time order, found by binary search.
+     * Results of unknown time (from old files) are in no range.
+     */
+    public List<GameResult> getResultsBetween(long fromMillis, long toMillis) {
+        int first = results.firstAtOrAfter(fromMillis);
+        int end = Math.max(first, results.firstAtOrAfter(toMillis));
+        return results.get(first, end);
+    }
+
+    public List<GameResult> getResultsOfLastDay() {
+        long now = System.currentTimeMillis();
+        return getResultsBetween(now - ResultTimeIndex.DAY_MILLIS, Long.MAX_VALUE);
+    }
+
+    /**
+     * Builds the time index, ratings and head-to-head records now instead of on first use,
+     * so a caller loading in the background does not leave the work to its first reader.
+     */
+    public void buildStatistics() {
+        getTimeIndex();
+        getRatings();
+        getHeadToHead();
+    }
+
+    public ResultTimeIndex getTimeIndex() {
+        if (timeIndex == null) {
+            timeIndex = ResultTimeIndex.build(results);
+        }
+        return timeIndex;
+    }
+
+    public Ratings getRatings() {
+        if (ratings == null) {
+            ratings = Ratings.recompute(results);
+        }
+        return ratings;
+    }
+
+    public HeadToHead getHeadToHead() {
+        if (headToHead == null) {
+            headToHead = HeadToHead.build(results);
+        }
+        return headToHead;
+    }
+
+    public List<Player> getAllPlayers() {
+        List<Player> all = new ArrayList<>(players.values());
+        all.sort(Comparator.comparing(Player::getName));
+        return all;
+    }
+
+    /**
+     * Order of the leaderboard.
+     */
+    public enum Ranking {
+        WIN_RATE, ELO, GLICKO
+    }
+
+    public List<Player> getTopPlayers(int limit) {
+        return getTopPlayers(limit, Ranking.WIN_RATE);
+    }
+
+    public List<Player> getTopPlayers(int limit, Ranking ranking) {
+        Comparator<Player> order;
+        switch (ranking) {
+            case ELO: order = Comparator.comparingDouble(p -> getRatings().getElo(p.getName())); break;
+            case GLICKO: order = Comparator.comparingDouble(p -> getRatings().getGlicko(p.getName())); break;
+            default: order = Comparator.comparingDouble(Player::getWinRate); break;
+        }
+        return players.values().stream()
+                .sorted(order.reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+/*
+ * DataSnapshot
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Binary image of players and results, read at startup instead of parsing the CSV files.
+ *
+ * The file starts with a header holding the length and CRC32 of the payload and the
+ * size and modification time of both CSV files at the moment of writing. At startup the
+ * file is read whole, the checksum verified and the stamps compared with the CSV
+ * files on disk; a snapshot which is broken or older than the CSV files is ignored and
+ * the CSV files are parsed instead. The results are stored as the arrays of
+ * {@link ResultStore}, so they are read with bulk copies and nothing is parsed.
+ */
+public final class DataSnapshot {
+    private static final int MAGIC = 0x434B5331; // CKS1
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 * 8;
+
+    /**
+     * Players and results read from a snapshot.
+     */
+    public static final class Contents {
+        private final List<Player> players;
+        private final ResultStore results;
+
+        Contents(List<Player> players, ResultStore results) {
+            this.players = players;
+            this.results = results;
+        }
+
+        public List<Player> getPlayers() { return players; }
+        public ResultStore getResults() { return results; }
+    }
+
+    private DataSnapshot() {
+    }
+
+    /**
+     * Size and modification time of the CSV files, a snapshot is valid only for the same stamp.
+     */
+    public static long[] stamp(String playersFile, String resultsFile) {
+        File players = new File(playersFile);
+        File results = new File(resultsFile);
+        return new long[] {players.length(), players.lastModified(), results.length(), results.lastModified()};
+    }
+
+    public static void write(Path file, long[] stamp, Collection<Player> players, ResultStore results)
+            throws IOException {
+        PlayerDictionary dictionary = results.getPlayers();
+        List<byte[]> playerNames = new ArrayList<>();
+        long size = 4;
+        for (Player player : players) {
+            byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+            playerNames.add(name);
+            size += 4 + name.length + 4 + 4 + 4 + 4 + 8;
+        }
+        byte[][] names = new byte[dictionary.size()][];
+        size += 4;
+        for (int id = 0; id < names.length; id++) {
+            names[id] = dictionary.name(id).getBytes(StandardCharsets.UTF_8);
+            size += 4 + names[id].length;
+        }
+        int n = results.size();
+        size += 4 + (long) n * (4 + 4 + 1 + 4 + 8 + 8);
+        if (HEADER_BYTES + size > Integer.MAX_VALUE) {
+            throw new IOException("Snímek dat je příliš velký");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) (HEADER_BYTES + size));
+        buffer.position(HEADER_BYTES);
+        buffer.putInt(players.size());
+        int i = 0;
+        for (Player player : players) {
+            putBytes(buffer, playerNames.get(i++));
+            buffer.putInt(player.getGamesPlayed());
+            buffer.putInt(player.getGamesWon());
+            buffer.putInt(player.getGamesDrawn());
+            buffer.putInt(player.getTotalMoves());
+            buffer.putLong(player.getTotalTimeMillis());
+        }
+        buffer.putInt(names.length);
+        for (byte[] name : names) {
+            putBytes(buffer, name);
+        }
+        buffer.putInt(n);
+        buffer.asIntBuffer().put(results.whiteIds(), 0, n);
+        buffer.position(buffer.position() + 4 * n);
+        buffer.asIntBuffer().put(results.blackIds(), 0, n);
+        buffer.position(buffer.position() + 4 * n);
+        buffer.put(results.winners(), 0, n);
+        buffer.asIntBuffer().put(results.moveCounts(), 0, n);
+        buffer.position(buffer.position() + 4 * n);
+        buffer.asLongBuffer().put(results.durations(), 0, n);
+        buffer.position(buffer.position() + 8 * n);
+        buffer.asLongBuffer().put(results.times(), 0, n);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_BYTES, (int) size);
+        buffer.position(0);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(size).putLong(crc.getValue());
+        for (long value : stamp) {
+            buffer.putLong(value);
+        }
+
+        // written aside and moved, so a crash never leaves half a snapshot
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, buffer.array());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Reads the snapshot if it exists, is intact and was written for the given stamp,
+     * otherwise returns null. Player ids of the results are taken from the dictionary.
+     */
+    public static Contents read(Path file, long[] stamp, PlayerDictionary dictionary) {
+        if (!Files.isRegularFile(file)) return null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) return null;
+            // read into the heap rather than mapped: a mapping stays open until it is collected
+            // and on Windows it would block replacing the file by the next write
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) return null;
+            }
+            buffer.flip();
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+            long size = buffer.getLong();
+            long checksum = buffer.getLong();
+            for (long value : stamp) {
+                if (buffer.getLong() != value) return null;
+            }
+            if (HEADER_BYTES + size != channel.size()) return null;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(HEADER_BYTES, (int) size));
+            if (crc.getValue() != checksum) {
+                System.err.println("Snímek dat je poškozený, načítají se CSV soubory");
+                return null;
+            }
+            return readPayload(buffer, dictionary);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Chyba při čtení snímku dat: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Contents readPayload(ByteBuffer buffer, PlayerDictionary dictionary) {
+        int playerCount = buffer.getInt();
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new Player(getString(buffer));
+            player.setStats(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getLong());
+            players.add(player);
+        }
+        int nameCount = buffer.getInt();
+        int[] ids = new int[nameCount];
+        for (int i = 0; i < nameCount; i++) {
+            ids[i] = dictionary.id(getString(buffer));
+        }
+
+        int n = buffer.getInt();
+        int[] white = new int[n];
+        int[] black = new int[n];
+        byte[] winner = new byte[n];
+        int[] moves = new int[n];
+        long[] duration = new long[n];
+        long[] time = new long[n];
+        buffer.asIntBuffer().get(white);
+        buffer.position(buffer.position() + 4 * n);
+        buffer.asIntBuffer().get(black);
+        buffer.position(buffer.position() + 4 * n);
+        buffer.get(winner);
+        buffer.asIntBuffer().get(moves);
+        buffer.position(buffer.position() + 4 * n);
+        buffer.asLongBuffer().get(duration);
+        buffer.position(buffer.position() + 8 * n);
+        buffer.asLongBuffer().get(time);
+        for (int i = 0; i < n; i++) {
+            white[i] = ids[white[i]];
+            black[i] = ids[black[i]];
+        }
+        return new Contents(players, new ResultStore(dictionary, white, black, winner, moves, duration, time, n));
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
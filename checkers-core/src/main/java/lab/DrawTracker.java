@@ -0,0 +1,85 @@
+/*
+ * DrawTracker
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+/**
+ * Draw rules of a game in progress: threefold repetition and the move limit.
+ *
+ * Only positions since the last irreversible move (a capture or a man move) can repeat,
+ * so the history holds just the {@link Zobrist} hashes of those positions and every
+ * irreversible move clears it. The same history counts the quiet moves, so it never
+ * grows past the move limit, and a repetition is searched on every second ply only,
+ * where the same side is to move.
+ */
+public final class DrawTracker {
+    /** Moves of each side without a capture or man move after which the game is drawn. */
+    public static final int QUIET_MOVES = 25;
+    public static final int REPETITIONS = 3;
+    private static final int QUIET_PLIES = 2 * QUIET_MOVES;
+
+    // hashes[0] is the position after the last irreversible move
+    private final long[] hashes = new long[QUIET_PLIES + 1];
+    private int size;
+
+    public DrawTracker(long hash) {
+        reset(hash);
+    }
+
+    /**
+     * Starts a new history at the given position.
+     */
+    public void reset(long hash) {
+        hashes[0] = hash;
+        size = 1;
+    }
+
+    /**
+     * Adds the position reached by a ply.
+     */
+    public void add(long hash, boolean irreversible) {
+        if (irreversible) {
+            size = 0;
+        } else if (size == hashes.length) {
+            // past the limit the game is drawn anyway, keep the latest positions
+            System.arraycopy(hashes, 1, hashes, 0, size - 1);
+            size--;
+        }
+        hashes[size++] = hash;
+    }
+
+    /**
+     * True if the move can never be undone: it captures or moves a man.
+     */
+    public static boolean isIrreversible(Position pos, Move move) {
+        return move.isCapture() || (pos.getKings() & 1L << move.getFrom()) == 0;
+    }
+
+    /** Plies played since the last capture or man move. */
+    public int getQuietPlies() {
+        return size - 1;
+    }
+
+    public boolean isRepetition() {
+        long hash = hashes[size - 1];
+        int seen = 1;
+        for (int i = size - 3; i >= 0; i -= 2) {
+            if (hashes[i] == hash && ++seen == REPETITIONS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isMoveLimit() {
+        return getQuietPlies() >= QUIET_PLIES;
+    }
+
+    public boolean isDraw() {
+        return isMoveLimit() || isRepetition();
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * EvalTuner
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offline tuning of {@link EvalWeights} on archived games.
+ *
+ * Quiet positions (no capture for the side to move) are taken from the games of a
+ * {@link GameArchive} and labelled with the final result from the white point of view.
+ * The evaluation is linear in the weights, so every position is stored only as its
+ * feature counts, in one flat byte array, and the weights are fitted by minimising the
+ * squared error between the result and a sigmoid of the evaluation. The gradient is
+ * summed over chunks of positions in a fork-join pool, every tenth game is kept aside
+ * to check the new weights on games they were not fitted to. The man value stays at
+ * 100 so the weights keep their scale.
+ *
+ * With --generate the engine first plays the given number of games against itself
+ * (a few random opening moves, then a shallow search) and appends them to the archive.
+ *
+ * Usage: EvalTuner [archive...] [--generate n] [--depth d] [--epochs n] [--threads n]
+ *        [--out file] [--size 8|10] [--flying] [--max-capture]
+ */
+public class EvalTuner {
+    private static final int OPENING_PLIES = 8;
+    private static final int RANDOM_PLIES = 4;
+    private static final int MAX_PLIES = 200;
+    private static final int CHUNK = 4096;
+    private static final int VALIDATION_EVERY = 10;
+    private static final double LEARNING_RATE = 1.0;
+
+    /**
+     * Feature counts and labels of many positions in parallel primitive arrays.
+     */
+    static final class DataSet {
+        byte[] features = new byte[1024 * EvalWeights.SIZE];
+        float[] labels = new float[1024];
+        int size;
+
+        void add(int[] counts, float label) {
+            if (size == labels.length) {
+                labels = Arrays.copyOf(labels, size * 2);
+                features = Arrays.copyOf(features, size * 2 * EvalWeights.SIZE);
+            }
+            int base = size * EvalWeights.SIZE;
+            for (int i = 0; i < EvalWeights.SIZE; i++) {
+                features[base + i] = (byte) counts[i];
+            }
+            labels[size++] = label;
+        }
+
+        double dot(int index, double[] weights) {
+            int base = index * EvalWeights.SIZE;
+            double sum = 0;
+            for (int i = 0; i < EvalWeights.SIZE; i++) {
+                sum += features[base + i] * weights[i];
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Sum of squared errors and of their gradient over a range of positions, the error
+     * is the last element of the result.
+     */
+    static final class Gradient extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        // a fork-join task is never serialized, the data set stays out of its serial form
+        private final transient DataSet data;
+        private final double[] weights;
+        private final double k;
+        private final int from;
+        private final int to;
+
+        Gradient(DataSet data, double[] weights, double k, int from, int to) {
+            this.data = data;
+            this.weights = weights;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from > CHUNK) {
+                int mid = (from + to) >>> 1;
+                Gradient left = new Gradient(data, weights, k, from, mid);
+                left.fork();
+                double[] right = new Gradient(data, weights, k, mid, to).compute();
+                double[] sum = left.join();
+                for (int i = 0; i < sum.length; i++) {
+                    sum[i] += right[i];
+                }
+                return sum;
+            }
+            double[] sum = new double[EvalWeights.SIZE + 1];
+            for (int n = from; n < to; n++) {
+                double p = sigmoid(k, data.dot(n, weights));
+                double error = p - data.labels[n];
+                sum[EvalWeights.SIZE] += error * error;
+                double factor = error * p * (1 - p) * k;
+                int base = n * EvalWeights.SIZE;
+                for (int i = 0; i < EvalWeights.SIZE; i++) {
+                    sum[i] += factor * data.features[base + i];
+                }
+            }
+            return sum;
+        }
+    }
+
+    private final Rules rules;
+    private final ForkJoinPool pool;
+    private final Evaluator evaluator;
+    private final DataSet train = new DataSet();
+    private final DataSet validation = new DataSet();
+    private final int[] counts = new int[EvalWeights.SIZE];
+    private int games;
+    private int skippedGames;
+    private int mismatches;
+
+    public EvalTuner(Rules rules, EvalWeights start, int threads) {
+        this.rules = rules;
+        this.pool = new ForkJoinPool(threads);
+        this.evaluator = new Evaluator(start, rules.getGeometry());
+    }
+
+    /**
+     * Adds the quiet positions of all games of the archive played with the tuned rules.
+     */
+    public void load(Path archive) throws IOException {
+        GameArchive.read(archive, this::add);
+    }
+
+    private void add(GameArchive.Game game) {
+        Rules played = game.getRules();
+        if (played.getGeometry().getSize() != rules.getGeometry().getSize()
+                || played.isFlyingKings() != rules.isFlyingKings()
+                || played.isMaximumCapture() != rules.isMaximumCapture()) {
+            skippedGames++;
+            return;
+        }
+        DataSet target = games++ % VALIDATION_EVERY == VALIDATION_EVERY - 1 ? validation : train;
+        float label = game.getResult() == GameArchive.WHITE_WON ? 1f
+                : game.getResult() == GameArchive.BLACK_WON ? 0f : 0.5f;
+        int[] weights = evaluator.getWeights().toArray();
+        List<Position> positions = game.getPositions();
+        for (int i = OPENING_PLIES; i < positions.size(); i++) {
+            Position pos = positions.get(i);
+            if (MoveGenerator.jumpers(pos) != 0) continue;
+            evaluator.features(pos, counts);
+            // the linear model has to give exactly what the engine evaluates
+            int dot = 0;
+            for (int j = 0; j < counts.length; j++) {
+                dot += counts[j] * weights[j];
+            }
+            int engine = evaluator.evaluate(pos);
+            if (dot != (pos.isWhiteToMove() ? engine : -engine)) {
+                mismatches++;
+            }
+            target.add(counts, label);
+        }
+    }
+
+    static double sigmoid(double k, double score) {
+        return 1 / (1 + Math.exp(-k * score));
+    }
+
+    double meanError(DataSet data, double[] weights, double k) {
+        if (data.size == 0) return 0;
+        return pool.invoke(new Gradient(data, weights, k, 0, data.size))[EvalWeights.SIZE] / data.size;
+    }
+
+    /**
+     * Scale of the sigmoid which fits the starting weights best, found by golden section.
+     */
+    double fitScale(double[] weights) {
+        double low = 0.0001;
+        double high = 0.1;
+        double ratio = (Math.sqrt(5) - 1) / 2;
+        for (int i = 0; i < 40; i++) {
+            double a = high - ratio * (high - low);
+            double b = low + ratio * (high - low);
+            if (meanError(train, weights, a) < meanError(train, weights, b)) {
+                high = b;
+            } else {
+                low = a;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    /**
+     * Adam over the whole training set, returns the weights rounded to integers.
+     */
+    int[] tune(double[] start, double k, int epochs) {
+        double[] weights = start.clone();
+        double[] m = new double[weights.length];
+        double[] v = new double[weights.length];
+        double beta1 = 0.9;
+        double beta2 = 0.999;
+        for (int epoch = 1; epoch <= epochs; epoch++) {
+            double[] sum = pool.invoke(new Gradient(train, weights, k, 0, train.size));
+            for (int i = 0; i < weights.length; i++) {
+                if (i == EvalWeights.MAN) continue;
+                double g = sum[i] / train.size;
+                m[i] = beta1 * m[i] + (1 - beta1) * g;
+                v[i] = beta2 * v[i] + (1 - beta2) * g * g;
+                double mHat = m[i] / (1 - Math.pow(beta1, epoch));
+                double vHat = v[i] / (1 - Math.pow(beta2, epoch));
+                weights[i] -= LEARNING_RATE * mHat / (Math.sqrt(vHat) + 1e-9);
+            }
+            if (epoch % 100 == 0) {
+                System.out.printf("epocha %d: chyba %.6f%n", epoch, sum[EvalWeights.SIZE] / train.size);
+            }
+        }
+        int[] rounded = new int[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            rounded[i] = (int) Math.round(weights[i]);
+        }
+        return rounded;
+    }
+
+    /**
+     * Plays games of the engine against itself in parallel and appends them to the archive.
+     */
+    static void generate(Rules rules, int count, int depth, int threads, Path archive)
+            throws IOException, InterruptedException {
+        Path parent = archive.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        AtomicInteger seeds = new AtomicInteger();
+        ThreadLocal<TranspositionTable> tables = ThreadLocal.withInitial(() -> new TranspositionTable(1 << 16));
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(archive, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            for (int i = 0; i < count; i++) {
+                workers.execute(() -> {
+                    String line = playGame(rules, depth, tables.get(), new Random(seeds.incrementAndGet()));
+                    synchronized (writer) {
+                        writer.println(line);
+                    }
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        System.out.printf("odehráno %d her za %.1f s%n", count, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static String playGame(Rules rules, int depth, TranspositionTable table, Random random) {
+        table.clear();
+        Search search = new Search(new AtomicBoolean(), EvalWeights.getDefault(), table);
+        Position pos = Position.initial(rules);
+        DrawTracker draws = new DrawTracker(pos.getHash());
+        List<String> moves = new ArrayList<>();
+        int result = GameArchive.DRAW;
+        while (moves.size() < MAX_PLIES && !draws.isDraw()) {
+            int outcome = MoveGenerator.outcome(pos);
+            if (outcome != 0) {
+                result = outcome > 0 ? GameArchive.WHITE_WON : GameArchive.BLACK_WON;
+                break;
+            }
+            Move move;
+            if (moves.size() < RANDOM_PLIES) {
+                List<Move> legal = MoveGenerator.generate(pos);
+                move = legal.get(random.nextInt(legal.size()));
+            } else {
+                move = search.search(pos, depth, Long.MAX_VALUE / 2).getBestMove();
+            }
+            moves.add(move.toString());
+            boolean irreversible = DrawTracker.isIrreversible(pos, move);
+            pos = pos.play(move);
+            draws.add(pos.getHash(), irreversible);
+        }
+        return GameArchive.format(rules, result, moves);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        List<Path> archives = new ArrayList<>();
+        int generate = 0;
+        int depth = 4;
+        int epochs = 500;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path out = Path.of("eval-weights.properties");
+        int size = 8;
+        boolean flying = false;
+        boolean maximumCapture = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--generate": generate = Integer.parseInt(args[++i]); break;
+                case "--depth": depth = Integer.parseInt(args[++i]); break;
+                case "--epochs": epochs = Integer.parseInt(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--out": out = Path.of(args[++i]); break;
+                case "--size": size = Integer.parseInt(args[++i]); break;
+                case "--flying": flying = true; break;
+                case "--max-capture": maximumCapture = true; break;
+                default: archives.add(Path.of(args[i])); break;
+            }
+        }
+        if (archives.isEmpty()) {
+            archives.add(Path.of("data", "games.txt"));
+        }
+        Rules rules = new Rules(BoardGeometry.of(size), flying, maximumCapture);
+        threads = Math.max(1, threads);
+        if (generate > 0) {
+            generate(rules, generate, depth, threads, archives.get(0));
+        }
+
+        EvalWeights start = EvalWeights.getDefault();
+        EvalTuner tuner = new EvalTuner(rules, start, threads);
+        for (Path archive : archives) {
+            tuner.load(archive);
+        }
+        System.out.printf("hry: %d (jiná pravidla: %d), pozice: %d trénovací, %d kontrolní%n",
+                tuner.games, tuner.skippedGames, tuner.train.size, tuner.validation.size);
+        if (tuner.mismatches > 0) {
+            System.err.println("CHYBA: příznaky nesouhlasí s hodnocením v " + tuner.mismatches + " pozicích");
+            System.exit(1);
+        }
+        if (tuner.train.size == 0) {
+            System.err.println("Žádné pozice k ladění");
+            System.exit(1);
+        }
+
+        double[] initial = Arrays.stream(start.toArray()).asDoubleStream().toArray();
+        double k = tuner.fitScale(initial);
+        System.out.printf("měřítko K = %.6f%n", k);
+        System.out.printf("před: chyba %.6f trénovací, %.6f kontrolní%n",
+                tuner.meanError(tuner.train, initial, k), tuner.meanError(tuner.validation, initial, k));
+        long begin = System.nanoTime();
+        int[] tuned = tuner.tune(initial, k, epochs);
+        double[] result = Arrays.stream(tuned).asDoubleStream().toArray();
+        System.out.printf("po: chyba %.6f trénovací, %.6f kontrolní (%.1f s)%n",
+                tuner.meanError(tuner.train, result, k), tuner.meanError(tuner.validation, result, k),
+                (System.nanoTime() - begin) / 1e9);
+
+        EvalWeights weights = new EvalWeights(tuned);
+        weights.save(out, "Weights tuned by EvalTuner on " + tuner.games + " games, "
+                + tuner.train.size + " positions.\nUse with -Dcheckers.eval.weights=" + out);
+        System.out.println("váhy: " + weights + " -> " + out);
+        tuner.pool.shutdown();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * EvalWeights
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Weights of the static evaluation, loaded from a properties file.
+ *
+ * The evaluation is linear in the weights: every term counts some feature of the
+ * position (white minus black) and multiplies it by its weight. The weights are
+ * therefore kept as one vector, the named indexes below say which term is where.
+ */
+public final class EvalWeights {
+    public static final int MAN = 0;
+    public static final int KING = 1;
+    public static final int BACK_RANK = 2;
+    public static final int CENTER = 3;
+    public static final int KING_CENTER = 4;
+    public static final int RUNAWAY = 5;
+    /** First of the advancement weights, indexed by rows left to promotion minus one. */
+    public static final int ADVANCE = 6;
+    public static final int ADVANCE_ROWS = 8;
+    public static final int SIZE = ADVANCE + ADVANCE_ROWS;
+
+    private static final String[] NAMES = {"man", "king", "backRank", "center", "kingCenter", "runaway"};
+    private static final String DEFAULT_RESOURCE = "/eval-weights.properties";
+
+    private static volatile EvalWeights defaults;
+
+    private final int[] weights;
+
+    public EvalWeights(int[] weights) {
+        if (weights.length != SIZE) {
+            throw new IllegalArgumentException("Očekáváno " + SIZE + " vah, zadáno " + weights.length);
+        }
+        this.weights = weights.clone();
+    }
+
+    /**
+     * Weights from -Dcheckers.eval.weights if set, otherwise the ones shipped with the core.
+     * A broken file is reported and the shipped weights are used instead.
+     */
+    public static EvalWeights getDefault() {
+        EvalWeights result = defaults;
+        if (result == null) {
+            synchronized (EvalWeights.class) {
+                result = defaults;
+                if (result == null) {
+                    result = loadDefault();
+                    defaults = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static EvalWeights loadDefault() {
+        String file = System.getProperty("checkers.eval.weights");
+        if (file != null) {
+            try {
+                return load(Path.of(file));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Chyba při načítání vah hodnocení: " + e.getMessage());
+            }
+        }
+        try (InputStream in = EvalWeights.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Chybí zdroj " + DEFAULT_RESOURCE);
+            }
+            Properties props = new Properties();
+            props.load(in);
+            return fromProperties(props);
+        } catch (IOException e) {
+            throw new IllegalStateException("Nelze načíst " + DEFAULT_RESOURCE, e);
+        }
+    }
+
+    public static EvalWeights load(Path file) throws IOException {
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        return fromProperties(props);
+    }
+
+    /**
+     * Writes the weights in the format read by {@link #load}, comment goes to the header.
+     */
+    public void save(Path file, String comment) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (String line : comment.split("\n")) {
+            sb.append("# ").append(line).append(System.lineSeparator());
+        }
+        for (int i = 0; i < NAMES.length; i++) {
+            sb.append(NAMES[i]).append('=').append(weights[i]).append(System.lineSeparator());
+        }
+        sb.append("advance=");
+        for (int i = 0; i < ADVANCE_ROWS; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(weights[ADVANCE + i]);
+        }
+        sb.append(System.lineSeparator());
+        Files.writeString(file, sb.toString(), StandardCharsets.UTF_8);
+    }
+
+    static EvalWeights fromProperties(Properties props) {
+        int[] w = new int[SIZE];
+        for (int i = 0; i < NAMES.length; i++) {
+            w[i] = parse(props, NAMES[i]);
+        }
+        String advance = props.getProperty("advance", "");
+        String[] parts = advance.split(",");
+        if (parts.length != ADVANCE_ROWS) {
+            throw new IllegalArgumentException("advance musí mít " + ADVANCE_ROWS + " hodnot: " + advance);
+        }
+        for (int i = 0; i < ADVANCE_ROWS; i++) {
+            w[ADVANCE + i] = Integer.parseInt(parts[i].trim());
+        }
+        return new EvalWeights(w);
+    }
+
+    private static int parse(Properties props, String name) {
+        String value = props.getProperty(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Chybí váha " + name);
+        }
+        return Integer.parseInt(value.trim());
+    }
+
+    public int get(int index) {
+        return weights[index];
+    }
+
+    /**
+     * Advancement weight of a man with given number of rows left to promotion.
+     */
+    public int advance(int rowsLeft) {
+        return rowsLeft >= 1 && rowsLeft <= ADVANCE_ROWS ? weights[ADVANCE + rowsLeft - 1] : 0;
+    }
+
+    public int[] toArray() {
+        return weights.clone();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(weights);
+    }
+}
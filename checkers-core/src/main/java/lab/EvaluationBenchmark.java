@@ -0,0 +1,175 @@
+/*
+ * EvaluationBenchmark
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks and measures the incremental evaluation.
+ *
+ * Random games are walked with make and unmake, including short side lines, and the
+ * incremental score is compared with the from-scratch one at every node. Then both are
+ * timed on the children of all positions of random games, the way leaves are scored in
+ * search: make, score and unmake along the game against evaluating each child from scratch.
+ * Exits with status 1 when a check fails.
+ *
+ * Usage: EvaluationBenchmark [--games g] [--seconds s]
+ */
+public class EvaluationBenchmark {
+    // keeps the scores alive, so the JIT cannot drop the evaluation
+    static volatile long sink;
+
+    private static int compare(Rules rules, int games, Random random) {
+        Evaluator evaluator = new Evaluator(EvalWeights.getDefault(), rules.getGeometry());
+        int failures = 0;
+        for (int game = 0; game < games; game++) {
+            Position pos = Position.initial(rules);
+            evaluator.reset(pos);
+            for (int ply = 0; ply < 200 && MoveGenerator.outcome(pos) == 0; ply++) {
+                List<Move> moves = MoveGenerator.generate(pos);
+                // every child once, so unmake is exercised too
+                for (Move move : moves) {
+                    Position child = pos.play(move);
+                    evaluator.make(pos, move, child);
+                    if (evaluator.score(child.isWhiteToMove()) != evaluator.evaluate(child)) {
+                        failures++;
+                    }
+                    evaluator.unmake();
+                }
+                Move move = moves.get(random.nextInt(moves.size()));
+                Position next = pos.play(move);
+                evaluator.make(pos, move, next);
+                pos = next;
+                if (evaluator.score(pos.isWhiteToMove()) != evaluator.evaluate(pos) && failures++ < 5) {
+                    System.out.println("rozdíl " + rules + " po tahu " + move + ": "
+                            + evaluator.score(pos.isWhiteToMove()) + " místo " + evaluator.evaluate(pos));
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Random game as the list of its positions, the moves played and all children of each position.
+     */
+    private static final class Game {
+        final Position[] positions;
+        final Move[] played;
+        final Move[][] moves;
+        final Position[][] children;
+
+        Game(Rules rules, Random random) {
+            List<Position> list = new ArrayList<>();
+            List<Move> playedList = new ArrayList<>();
+            Position pos = Position.initial(rules);
+            for (int ply = 0; ply < 200 && MoveGenerator.outcome(pos) == 0; ply++) {
+                List<Move> legal = MoveGenerator.generate(pos);
+                Move move = legal.get(random.nextInt(legal.size()));
+                list.add(pos);
+                playedList.add(move);
+                pos = pos.play(move);
+            }
+            positions = list.toArray(new Position[0]);
+            played = playedList.toArray(new Move[0]);
+            moves = new Move[positions.length][];
+            children = new Position[positions.length][];
+            for (int i = 0; i < positions.length; i++) {
+                moves[i] = MoveGenerator.generate(positions[i]).toArray(new Move[0]);
+                children[i] = new Position[moves[i].length];
+                for (int j = 0; j < moves[i].length; j++) {
+                    children[i][j] = positions[i].play(moves[i][j]);
+                }
+            }
+        }
+    }
+
+    private static void time(Rules rules, int gameCount, Random random, double seconds) {
+        Evaluator evaluator = new Evaluator(EvalWeights.getDefault(), rules.getGeometry());
+        Game[] games = new Game[gameCount];
+        for (int i = 0; i < games.length; i++) {
+            games[i] = new Game(rules, random);
+        }
+
+        for (int round = 0; round < 2; round++) {
+            long evaluations = 0;
+            long sum = 0;
+            long start = System.nanoTime();
+            long end = start + (long) (seconds * 1e9);
+            // like a search: one reset per game, then make and unmake along the line
+            while (System.nanoTime() < end) {
+                for (Game game : games) {
+                    evaluator.reset(game.positions[0]);
+                    for (int i = 0; i < game.positions.length; i++) {
+                        Position parent = game.positions[i];
+                        Move[] moves = game.moves[i];
+                        Position[] children = game.children[i];
+                        for (int j = 0; j < moves.length; j++) {
+                            evaluator.make(parent, moves[j], children[j]);
+                            sum += evaluator.score(children[j].isWhiteToMove());
+                            evaluator.unmake();
+                        }
+                        evaluations += moves.length;
+                        if (i + 1 < game.positions.length) {
+                            evaluator.make(parent, game.played[i], game.positions[i + 1]);
+                        }
+                    }
+                }
+            }
+            double incremental = evaluations / ((System.nanoTime() - start) / 1e9);
+
+            evaluations = 0;
+            start = System.nanoTime();
+            end = start + (long) (seconds * 1e9);
+            while (System.nanoTime() < end) {
+                for (Game game : games) {
+                    for (Position[] children : game.children) {
+                        for (Position child : children) {
+                            sum -= evaluator.evaluate(child);
+                        }
+                        evaluations += children.length;
+                    }
+                }
+            }
+            double scratch = evaluations / ((System.nanoTime() - start) / 1e9);
+            sink = sum;
+            if (round == 1) {
+                System.out.printf("%s: přírůstkově %.1f M hodnocení/s, od začátku %.1f M hodnocení/s, zrychlení %.1fx%n",
+                        rules.getGeometry(), incremental / 1e6, scratch / 1e6, incremental / scratch);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int games = 300;
+        double seconds = 3;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--games": games = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Double.parseDouble(args[++i]); break;
+                default: break;
+            }
+        }
+
+        Random random = new Random(5);
+        Rules[] variants = {Rules.CHECKERS, Rules.TEN_FLYING_MAXIMUM};
+        int failures = 0;
+        for (Rules rules : variants) {
+            failures += compare(rules, games, random);
+        }
+        System.out.println(failures == 0 ? "kontrola v pořádku" : "chyby: " + failures);
+
+        for (Rules rules : variants) {
+            time(rules, 50, random, seconds);
+        }
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Evaluator
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.Arrays;
+
+/**
+ * Static evaluation of positions, kept up to date incrementally during search.
+ *
+ * Material, advancement, back rank and center are folded into piece-square tables,
+ * so a move changes the score only by the values of the moved and captured pieces.
+ * A runaway man is a man with no piece at all in the triangle in front of it up to
+ * the promotion row; nothing can stop it any more. After a move only men behind a
+ * vacated square are checked again, found with reverse triangle masks.
+ *
+ * {@link #make} and {@link #unmake} keep a stack of states along the searched line,
+ * {@link #evaluate} computes the same score from scratch.
+ */
+public final class Evaluator {
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+
+    private final BoardGeometry geometry;
+    private final EvalWeights weights;
+    private final int runawayWeight;
+    private final int[][] manValue = new int[2][64];
+    private final int[] kingValue = new int[64];
+    // squares in front of a man up to the promotion row and squares whose triangle contains the square
+    private final long[][] cone = new long[2][64];
+    private final long[][] backCone = new long[2][64];
+    private final long centerMask;
+
+    // state stack: table score (white minus black) and runaway men of both sides
+    private int[] tableScore = new int[64];
+    private long[] whiteRunaways = new long[64];
+    private long[] blackRunaways = new long[64];
+    private int ply;
+
+    public Evaluator(EvalWeights weights, BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.weights = weights;
+        this.runawayWeight = weights.get(EvalWeights.RUNAWAY);
+        int size = geometry.getSize();
+        long centerBits = 0;
+        for (long bits = geometry.getValid(); bits != 0; bits &= bits - 1) {
+            int sq = Long.numberOfTrailingZeros(bits);
+            int row = geometry.row(sq);
+            int col = geometry.col(sq);
+            boolean center = row >= size / 2 - 1 && row <= size / 2 && col >= 2 && col <= size - 3;
+            int centerBonus = center ? weights.get(EvalWeights.CENTER) : 0;
+            if (center) centerBits |= 1L << sq;
+            manValue[WHITE][sq] = weights.get(EvalWeights.MAN) + weights.advance(size - 1 - row) + centerBonus
+                    + (row == 0 ? weights.get(EvalWeights.BACK_RANK) : 0);
+            manValue[BLACK][sq] = weights.get(EvalWeights.MAN) + weights.advance(row) + centerBonus
+                    + (row == size - 1 ? weights.get(EvalWeights.BACK_RANK) : 0);
+            kingValue[sq] = weights.get(EvalWeights.KING) + (center ? weights.get(EvalWeights.KING_CENTER) : 0);
+            cone[WHITE][sq] = triangle(row, col, 1);
+            cone[BLACK][sq] = triangle(row, col, -1);
+        }
+        this.centerMask = centerBits;
+        for (int side = 0; side < 2; side++) {
+            for (int sq = 0; sq < 64; sq++) {
+                for (long bits = cone[side][sq]; bits != 0; bits &= bits - 1) {
+                    backCone[side][Long.numberOfTrailingZeros(bits)] |= 1L << sq;
+                }
+            }
+        }
+    }
+
+    private long triangle(int row, int col, int step) {
+        long mask = 0;
+        for (int r = row + step, width = 1; r >= 0 && r < geometry.getSize(); r += step, width++) {
+            for (int c = col - width; c <= col + width; c++) {
+                if (geometry.contains(r, c) && (r + c) % 2 == 0) {
+                    mask |= 1L << geometry.square(r, c);
+                }
+            }
+        }
+        return mask;
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public EvalWeights getWeights() {
+        return weights;
+    }
+
+    /**
+     * Starts a new line at the given position, clearing the stack.
+     */
+    public void reset(Position pos) {
+        ply = 0;
+        tableScore[0] = tableScore(pos);
+        long occupied = pos.getWhite() | pos.getBlack();
+        whiteRunaways[0] = runaways(WHITE, pos.getWhite() & ~pos.getKings(), occupied);
+        blackRunaways[0] = runaways(BLACK, pos.getBlack() & ~pos.getKings(), occupied);
+    }
+
+    /**
+     * Pushes the state after the move, before is the position the move was played in.
+     */
+    public void make(Position before, Move move, Position after) {
+        if (ply + 1 == tableScore.length) {
+            grow();
+        }
+        boolean white = before.isWhiteToMove();
+        int mover = white ? WHITE : BLACK;
+        long fromBit = 1L << move.getFrom();
+        long toBit = 1L << move.getTo();
+        long kings = before.getKings();
+
+        int delta = ((after.getKings() & toBit) != 0 ? kingValue[move.getTo()] : manValue[mover][move.getTo()])
+                - ((kings & fromBit) != 0 ? kingValue[move.getFrom()] : manValue[mover][move.getFrom()]);
+        int taken = 0;
+        // squares left empty: men behind them may have become runaways
+        long vacatedWhite = backCone[WHITE][move.getFrom()];
+        long vacatedBlack = backCone[BLACK][move.getFrom()];
+        for (long bits = move.getCaptured(); bits != 0; bits &= bits - 1) {
+            int sq = Long.numberOfTrailingZeros(bits);
+            taken += (kings & (1L << sq)) != 0 ? kingValue[sq] : manValue[1 - mover][sq];
+            vacatedWhite |= backCone[WHITE][sq];
+            vacatedBlack |= backCone[BLACK][sq];
+        }
+        int change = delta + taken;
+        tableScore[ply + 1] = tableScore[ply] + (white ? change : -change);
+
+        // men with the target square in front of them are no runaways any more,
+        // only men behind a vacated square and the moved man itself have to be checked
+        long occupied = after.getWhite() | after.getBlack();
+        long whiteMen = after.getWhite() & ~after.getKings();
+        long blackMen = after.getBlack() & ~after.getKings();
+        long blockedWhite = backCone[WHITE][move.getTo()];
+        long blockedBlack = backCone[BLACK][move.getTo()];
+        long kept = ~toBit;
+        whiteRunaways[ply + 1] = (whiteRunaways[ply] & whiteMen & ~blockedWhite & kept)
+                | runaways(WHITE, whiteMen & ((vacatedWhite & ~blockedWhite & ~whiteRunaways[ply]) | toBit), occupied);
+        blackRunaways[ply + 1] = (blackRunaways[ply] & blackMen & ~blockedBlack & kept)
+                | runaways(BLACK, blackMen & ((vacatedBlack & ~blockedBlack & ~blackRunaways[ply]) | toBit), occupied);
+        ply++;
+    }
+
+    public void unmake() {
+        ply--;
+    }
+
+    /**
+     * Score of the current position from the point of view of the given side.
+     */
+    public int score(boolean whiteToMove) {
+        int white = tableScore[ply]
+                + runawayWeight * (Long.bitCount(whiteRunaways[ply]) - Long.bitCount(blackRunaways[ply]));
+        return whiteToMove ? white : -white;
+    }
+
+    /**
+     * Score of the position computed from scratch, from the side to move point of view.
+     */
+    public int evaluate(Position pos) {
+        long occupied = pos.getWhite() | pos.getBlack();
+        int runawayCount = Long.bitCount(runaways(WHITE, pos.getWhite() & ~pos.getKings(), occupied))
+                - Long.bitCount(runaways(BLACK, pos.getBlack() & ~pos.getKings(), occupied));
+        int white = tableScore(pos) + runawayWeight * runawayCount;
+        return pos.isWhiteToMove() ? white : -white;
+    }
+
+    /**
+     * Counts the features of the position, white minus black, one per weight of
+     * {@link EvalWeights}. The score without rounding is the dot product with the weights.
+     */
+    public void features(Position pos, int[] out) {
+        Arrays.fill(out, 0);
+        int size = geometry.getSize();
+        long kings = pos.getKings();
+        long occupied = pos.getWhite() | pos.getBlack();
+        for (int side = 0; side < 2; side++) {
+            int sign = side == WHITE ? 1 : -1;
+            long own = side == WHITE ? pos.getWhite() : pos.getBlack();
+            long men = own & ~kings;
+            out[EvalWeights.MAN] += sign * Long.bitCount(men);
+            out[EvalWeights.KING] += sign * Long.bitCount(own & kings);
+            out[EvalWeights.CENTER] += sign * Long.bitCount(men & centerMask);
+            out[EvalWeights.KING_CENTER] += sign * Long.bitCount(own & kings & centerMask);
+            out[EvalWeights.RUNAWAY] += sign * Long.bitCount(runaways(side, men, occupied));
+            for (long bits = men; bits != 0; bits &= bits - 1) {
+                int row = geometry.row(Long.numberOfTrailingZeros(bits));
+                int rowsLeft = side == WHITE ? size - 1 - row : row;
+                if (rowsLeft == size - 1) {
+                    out[EvalWeights.BACK_RANK] += sign;
+                }
+                if (rowsLeft >= 1 && rowsLeft <= EvalWeights.ADVANCE_ROWS) {
+                    out[EvalWeights.ADVANCE + rowsLeft - 1] += sign;
+                }
+            }
+        }
+    }
+
+    private int tableScore(Position pos) {
+        long kings = pos.getKings();
+        int score = 0;
+        for (long bits = pos.getWhite(); bits != 0; bits &= bits - 1) {
+            int sq = Long.numberOfTrailingZeros(bits);
+            score += (kings & (1L << sq)) != 0 ? kingValue[sq] : manValue[WHITE][sq];
+        }
+        for (long bits = pos.getBlack(); bits != 0; bits &= bits - 1) {
+            int sq = Long.numberOfTrailingZeros(bits);
+            score -= (kings & (1L << sq)) != 0 ? kingValue[sq] : manValue[BLACK][sq];
+        }
+        return score;
+    }
+
+    private long runaways(int side, long men, long occupied) {
+        long result = 0;
+        for (long bits = men; bits != 0; bits &= bits - 1) {
+            int sq = Long.numberOfTrailingZeros(bits);
+            if ((cone[side][sq] & occupied) == 0) {
+                result |= 1L << sq;
+            }
+        }
+        return result;
+    }
+
+    private void grow() {
+        int length = tableScore.length * 2;
+        tableScore = Arrays.copyOf(tableScore, length);
+        whiteRunaways = Arrays.copyOf(whiteRunaways, length);
+        blackRunaways = Arrays.copyOf(blackRunaways, length);
+    }
+}
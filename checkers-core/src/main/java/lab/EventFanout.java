@@ -0,0 +1,237 @@
+/*
+ * EventFanout
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers game events to many subscribers without slowing down the game loop.
+ *
+ * Publishing only puts the event into a bounded inbound queue. A fan-out thread takes
+ * events in batches and copies them into per-subscriber bounded buffers; delivery
+ * threads then hand each subscriber everything pending as one batch. A subscriber
+ * whose buffer is full is dropped, so one slow reader never blocks the others.
+ */
+public final class EventFanout implements AutoCloseable {
+    public static final int ALL_GAMES = -1;
+    // short wait for more events, so subscribers get fewer and bigger batches
+    private static final long LINGER_NANOS = 2_000_000L;
+
+    private final int bufferSize;
+    private final int maxBatch;
+    private final ArrayBlockingQueue<GameEvent> inbound;
+    private final Map<Integer, List<Subscription>> byGame = new ConcurrentHashMap<>();
+    private final List<Subscription> allGames = new CopyOnWriteArrayList<>();
+    private final Thread fanoutThread;
+    private final ExecutorService delivery;
+    private volatile boolean running = true;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+
+    /**
+     * Handle returned by subscribe, used to unsubscribe.
+     */
+    public static final class Subscription {
+        private final int gameId;
+        private final EventSink sink;
+        private final ArrayBlockingQueue<GameEvent> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean dropped = new AtomicBoolean();
+        private volatile boolean closed = false;
+
+        private Subscription(int gameId, EventSink sink, int bufferSize) {
+            this.gameId = gameId;
+            this.sink = sink;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+    }
+
+    public EventFanout(int bufferSize, int maxBatch, int deliveryThreads) {
+        this.bufferSize = bufferSize;
+        this.maxBatch = maxBatch;
+        this.inbound = new ArrayBlockingQueue<>(64 * 1024);
+        AtomicInteger counter = new AtomicInteger();
+        this.delivery = Executors.newFixedThreadPool(deliveryThreads, r -> {
+            Thread t = new Thread(r, "event-delivery-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.fanoutThread = new Thread(this::fanoutLoop, "event-fanout");
+        fanoutThread.setDaemon(true);
+        fanoutThread.start();
+    }
+
+    /**
+     * Subscribes to events of one game, or of all games with {@link #ALL_GAMES}.
+     */
+    public Subscription subscribe(int gameId, EventSink sink) {
+        Subscription subscription = new Subscription(gameId, sink, bufferSize);
+        if (gameId == ALL_GAMES) {
+            allGames.add(subscription);
+        } else {
+            byGame.computeIfAbsent(gameId, id -> new CopyOnWriteArrayList<>()).add(subscription);
+        }
+        return subscription;
+    }
+
+    public void unsubscribe(Subscription subscription) {
+        subscription.closed = true;
+        if (subscription.gameId == ALL_GAMES) {
+            allGames.remove(subscription);
+        } else {
+            List<Subscription> list = byGame.get(subscription.gameId);
+            if (list != null) {
+                list.remove(subscription);
+            }
+        }
+    }
+
+    /**
+     * Never blocks. If even the inbound queue is full the event is counted as rejected.
+     */
+    public void publish(GameEvent event) {
+        if (inbound.offer(event)) {
+            published.incrementAndGet();
+        } else {
+            rejected.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops subscribers of a game which was abandoned without GAME_END event.
+     */
+    public void removeGame(int gameId) {
+        List<Subscription> list = byGame.remove(gameId);
+        if (list != null) {
+            for (Subscription s : list) {
+                s.closed = true;
+            }
+        }
+    }
+
+    private void fanoutLoop() {
+        List<GameEvent> batch = new ArrayList<>(maxBatch);
+        List<Subscription> touched = new ArrayList<>();
+        while (running) {
+            try {
+                GameEvent first = inbound.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                inbound.drainTo(batch, maxBatch - 1);
+                if (batch.size() < maxBatch) {
+                    LockSupport.parkNanos(LINGER_NANOS);
+                    inbound.drainTo(batch, maxBatch - batch.size());
+                }
+
+                for (GameEvent event : batch) {
+                    List<Subscription> game = byGame.get(event.getGameId());
+                    if (game != null) {
+                        enqueue(game, event, touched);
+                        // last event of the game, buffered events are still delivered
+                        if (event.getType() == GameEvent.Type.GAME_END) {
+                            byGame.remove(event.getGameId());
+                        }
+                    }
+                    enqueue(allGames, event, touched);
+                }
+                for (Subscription s : touched) {
+                    schedule(s);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+                touched.clear();
+            }
+        }
+    }
+
+    private void enqueue(List<Subscription> subscriptions, GameEvent event, List<Subscription> touched) {
+        for (Subscription s : subscriptions) {
+            if (s.closed) continue;
+            boolean wasEmpty = s.buffer.isEmpty();
+            if (!s.buffer.offer(event)) {
+                drop(s);
+            } else if (wasEmpty) {
+                touched.add(s);
+            }
+        }
+    }
+
+    private void schedule(Subscription s) {
+        if (!s.closed && s.scheduled.compareAndSet(false, true)) {
+            delivery.execute(() -> deliver(s));
+        }
+    }
+
+    private void deliver(Subscription s) {
+        List<GameEvent> batch = new ArrayList<>(Math.min(maxBatch, s.buffer.size()));
+        s.buffer.drainTo(batch, maxBatch);
+        if (!batch.isEmpty() && !s.closed) {
+            if (s.sink.deliver(batch)) {
+                delivered.addAndGet(batch.size());
+            } else {
+                drop(s);
+            }
+        }
+        s.scheduled.set(false);
+        // events which came while the sink was busy go out in the next batch
+        if (!s.buffer.isEmpty()) {
+            schedule(s);
+        }
+    }
+
+    private void drop(Subscription s) {
+        // fan-out and delivery thread can both find out the subscriber is too slow
+        if (s.closed || !s.dropped.compareAndSet(false, true)) return;
+        unsubscribe(s);
+        s.buffer.clear();
+        droppedSubscribers.incrementAndGet();
+        s.sink.dropped();
+    }
+
+    public long getPublished() { return published.get(); }
+    public long getRejected() { return rejected.get(); }
+    public long getDelivered() { return delivered.get(); }
+    public long getDroppedSubscribers() { return droppedSubscribers.get(); }
+
+    public int getSubscriberCount() {
+        int count = allGames.size();
+        for (List<Subscription> list : byGame.values()) {
+            count += list.size();
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        fanoutThread.interrupt();
+        delivery.shutdown();
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * EventSink
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.List;
+
+/**
+ * Receiver of batched game events from {@link EventFanout}.
+ */
+public interface EventSink {
+    /**
+     * Receives next batch in publish order. Runs on a shared delivery thread, so it
+     * must not block; returning false means the receiver cannot keep up and the
+     * subscription is dropped.
+     */
+    boolean deliver(List<GameEvent> batch);
+
+    /**
+     * Called once when the subscription was dropped because of a full buffer.
+     */
+    void dropped();
+}
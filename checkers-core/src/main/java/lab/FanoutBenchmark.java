@@ -0,0 +1,118 @@
+/*
+ * FanoutBenchmark
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures {@link EventFanout} delivery with many subscribers.
+ *
+ * Subscribers are spread over games, a part of them watches all games and one
+ * percent reads too slowly and should get dropped without hurting the others.
+ * One thread publishes events at a fixed rate as the game loop would.
+ *
+ * Usage: FanoutBenchmark [--subscribers n] [--games g] [--rate eventsPerSecond] [--seconds s]
+ */
+public class FanoutBenchmark {
+    private static final AtomicLong received = new AtomicLong();
+    private static final AtomicLong batches = new AtomicLong();
+
+    /**
+     * Counts events. The slow variant pretends its reader takes only a few events
+     * per second and refuses batches once its own backlog is full, like a spectator
+     * connection whose socket is not read.
+     */
+    private static class CountingSink implements EventSink {
+        private static final int SLOW_READ_PER_SECOND = 20;
+        private static final int SLOW_BACKLOG = 1024;
+
+        private final boolean slow;
+        private long backlog = 0;
+        private long lastRead = System.nanoTime();
+
+        CountingSink(boolean slow) {
+            this.slow = slow;
+        }
+
+        @Override
+        public boolean deliver(List<GameEvent> batch) {
+            if (slow) {
+                long now = System.nanoTime();
+                backlog = Math.max(0, backlog - (now - lastRead) * SLOW_READ_PER_SECOND / 1_000_000_000L);
+                lastRead = now;
+                backlog += batch.size();
+                if (backlog > SLOW_BACKLOG) {
+                    return false;
+                }
+            }
+            received.addAndGet(batch.size());
+            batches.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public void dropped() {
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int subscribers = 10_000;
+        int games = 100;
+        int rate = 20_000;
+        int seconds = 10;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--subscribers": subscribers = Integer.parseInt(args[++i]); break;
+                case "--games": games = Integer.parseInt(args[++i]); break;
+                case "--rate": rate = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Integer.parseInt(args[++i]); break;
+                default: break;
+            }
+        }
+
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        try (EventFanout fanout = new EventFanout(1024, 256, threads)) {
+            for (int i = 0; i < subscribers; i++) {
+                // every hundredth subscriber watches everything, every hundredth + 1 is slow
+                int gameId = i % 100 == 0 ? EventFanout.ALL_GAMES : i % games;
+                fanout.subscribe(gameId, new CountingSink(i % 100 == 1));
+            }
+
+            long publishNanos = 0;
+            long events = 0;
+            long start = System.nanoTime();
+            long end = start + seconds * 1_000_000_000L;
+            long interval = 1_000_000_000L / rate;
+            long next = start;
+            while (System.nanoTime() < end) {
+                int game = (int) (events % games);
+                GameEvent event = GameEvent.move(game, (int) events, 2, 2, 3, 3);
+                long t0 = System.nanoTime();
+                fanout.publish(event);
+                publishNanos += System.nanoTime() - t0;
+                events++;
+                next += interval;
+                long wait = next - System.nanoTime();
+                if (wait > 1_000_000) {
+                    Thread.sleep(wait / 1_000_000);
+                }
+            }
+            // let the buffers drain
+            Thread.sleep(1000);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("odběratelé: %d, hry: %d, vlákna doručení: %d%n", subscribers, games, threads);
+            System.out.printf("publikováno: %d událostí (%.0f/s), cena publish: %.0f ns, odmítnuto: %d%n",
+                    fanout.getPublished(), events / (elapsed - 1), (double) publishNanos / events, fanout.getRejected());
+            System.out.printf("doručeno: %d událostí (%.0f/s), průměrná dávka: %.1f, odpojení pomalí: %d%n",
+                    received.get(), received.get() / elapsed,
+                    (double) received.get() / Math.max(1, batches.get()), fanout.getDroppedSubscribers());
+        }
+    }
+}
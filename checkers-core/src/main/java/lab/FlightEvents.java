@@ -0,0 +1,114 @@
+/*
+ * FlightEvents
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Custom Java Flight Recorder events of the game, shown under "Checkers" in Mission Control.
+ *
+ * Events are only begun and committed around the work; fields are filled after
+ * shouldCommit(), so with recording off the cost is a disabled check and the event
+ * object is removed by escape analysis. Settings are in checkers.jfc, e.g.
+ * -XX:StartFlightRecording=settings=default,settings=checkers-core/src/main/resources/checkers.jfc
+ */
+public final class FlightEvents {
+    private FlightEvents() {
+    }
+
+    @Name("lab.Move")
+    @Label("Move")
+    @Description("Validation and application of one move step in GameModel")
+    @Category("Checkers")
+    @StackTrace(false)
+    public static final class MoveEvent extends Event {
+        @Label("Game Id")
+        int gameId;
+        @Label("From")
+        String from;
+        @Label("To")
+        String to;
+        @Label("Valid")
+        boolean valid;
+        @Label("Capture")
+        boolean capture;
+    }
+
+    @Name("lab.GameEndCheck")
+    @Label("Game End Check")
+    @Description("Check whether a side cannot move, including result recording when the game ended")
+    @Category("Checkers")
+    @StackTrace(false)
+    public static final class GameEndEvent extends Event {
+        @Label("Game Id")
+        int gameId;
+        @Label("Ended")
+        boolean ended;
+        @Label("Winner")
+        String winner;
+        @Label("Moves")
+        int moves;
+    }
+
+    @Name("lab.ResultPersist")
+    @Label("Result Persist")
+    @Description("DataManager.addGameResult including the CSV write when auto save is on")
+    @Category({"Checkers", "I/O"})
+    public static final class ResultPersistEvent extends Event {
+        @Label("White")
+        String white;
+        @Label("Black")
+        String black;
+        @Label("Winner")
+        String winner;
+        @Label("Written To Disk")
+        boolean written;
+        @Label("Results")
+        int results;
+    }
+
+    @Name("lab.GameFile")
+    @Label("Game File")
+    @Description("Serialization of a saved game to or from disk")
+    @Category({"Checkers", "I/O"})
+    public static final class GameFileEvent extends Event {
+        @Label("Path")
+        String path;
+        @Label("Operation")
+        String operation;
+        @Label("Bytes")
+        long bytes;
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("lab.Search")
+    @Label("Engine Search")
+    @Description("One iterative deepening search of the engine")
+    @Category({"Checkers", "Engine"})
+    @StackTrace(false)
+    public static final class SearchEvent extends Event {
+        @Label("Max Depth")
+        int maxDepth;
+        @Label("Completed Depth")
+        int depth;
+        @Label("Nodes")
+        long nodes;
+        @Label("Score")
+        int score;
+        @Label("Best Move")
+        String bestMove;
+        @Label("Time Limit Millis")
+        long timeLimitMillis;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * FlyingKingsBenchmark
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks and measures flying king move generation on king-heavy endgames.
+ *
+ * First the ray based generator is compared with a naive one walking the diagonals
+ * square by square, then random games are played through GameModel with flying kings
+ * and compared with the generator after every move. Finally both generators are timed
+ * on the same endgame positions. Exits with status 1 when a check fails.
+ *
+ * Usage: FlyingKingsBenchmark [--positions n] [--games g] [--seconds s]
+ */
+public class FlyingKingsBenchmark {
+
+    /**
+     * Reference generator for positions with kings only, written as plainly as possible.
+     */
+    static List<Move> naiveGenerate(Position pos) {
+        BoardGeometry g = pos.getGeometry();
+        List<Move> captures = new ArrayList<>();
+        List<Move> quiet = new ArrayList<>();
+        long own = pos.getOwn();
+        for (int from = 0; from < 64; from++) {
+            if ((own & (1L << from)) == 0) continue;
+            long empty = pos.getEmpty() | (1L << from);
+            naiveJumps(g, from, from, pos.getOpponent(), empty, new ArrayList<>(), 0, captures);
+            for (int d = 0; d < 4; d++) {
+                for (int sq = g.neighbor(d, from); sq >= 0 && (pos.getEmpty() & (1L << sq)) != 0; sq = g.neighbor(d, sq)) {
+                    quiet.add(new Move(g, from, new int[]{sq}, 0));
+                }
+            }
+        }
+        return captures.isEmpty() ? quiet : captures;
+    }
+
+    private static void naiveJumps(BoardGeometry g, int from, int square, long opp, long empty,
+                                   List<Integer> path, long captured, List<Move> moves) {
+        boolean extended = false;
+        for (int d = 0; d < 4; d++) {
+            int mid = g.neighbor(d, square);
+            while (mid >= 0 && (empty & (1L << mid)) != 0) {
+                mid = g.neighbor(d, mid);
+            }
+            if (mid < 0 || (opp & (1L << mid)) == 0) continue;
+            long midBit = 1L << mid;
+            for (int land = g.neighbor(d, mid); land >= 0 && (empty & (1L << land)) != 0; land = g.neighbor(d, land)) {
+                extended = true;
+                path.add(land);
+                naiveJumps(g, from, land, opp & ~midBit, (empty | midBit | (1L << square)) & ~(1L << land),
+                        path, captured | midBit, moves);
+                path.remove(path.size() - 1);
+            }
+        }
+        if (!extended && !path.isEmpty()) {
+            moves.add(new Move(g, from, path.stream().mapToInt(Integer::intValue).toArray(), captured));
+        }
+    }
+
+    /**
+     * Random position with a few kings of each side and nothing else.
+     */
+    static Position randomKingEndgame(Rules rules, Random random) {
+        BoardGeometry g = rules.getGeometry();
+        long[] sides = new long[2];
+        long used = 0;
+        for (int side = 0; side < 2; side++) {
+            int count = 1 + random.nextInt(5);
+            while (Long.bitCount(sides[side]) < count) {
+                int sq = g.square(random.nextInt(g.getSize()), random.nextInt(g.getSize()));
+                long bit = 1L << sq;
+                if ((g.getValid() & bit) != 0 && (used & bit) == 0) {
+                    sides[side] |= bit;
+                    used |= bit;
+                }
+            }
+        }
+        return new Position(rules, sides[0], sides[1], used, random.nextBoolean());
+    }
+
+    private static int compareWithNaive(Rules rules, int positions, Random random) {
+        int failures = 0;
+        for (int i = 0; i < positions; i++) {
+            Position pos = randomKingEndgame(rules, random);
+            HashSet<Move> fast = new HashSet<>(MoveGenerator.generate(pos));
+            HashSet<Move> naive = new HashSet<>(naiveGenerate(pos));
+            if (!fast.equals(naive)) {
+                if (failures++ < 5) {
+                    System.out.println("rozdíl " + rules + ": paprsky " + fast + ", naivně " + naive);
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Plays random legal moves through GameModel clicks and compares the result with the generator.
+     */
+    private static int compareWithModel(Rules rules, int games, Random random) {
+        DataManager dataManager = new DataManager(System.getProperty("java.io.tmpdir") + "/checkers-bench/");
+        dataManager.setAutoSave(false);
+        int failures = 0;
+        for (int game = 0; game < games; game++) {
+            String[] message = {null};
+            GameModel model = new GameModel(rules, new Player("a"), new Player("b"), dataManager,
+                    msg -> message[0] = msg, winner -> { });
+            Position pos = Position.fromModel(model);
+            while (!model.isGameEnded() && model.getMoveCount() < 300) {
+                List<Move> moves = MoveGenerator.generate(pos);
+                Move move = moves.get(random.nextInt(moves.size()));
+                message[0] = null;
+                for (int[] click : move.toClicks()) {
+                    model.handleTileClick(click[0], click[1]);
+                }
+                pos = pos.play(move);
+                Position actual = Position.fromModel(model);
+                boolean rejected = message[0] != null && !message[0].contains("dál");
+                if (rejected || actual.getWhite() != pos.getWhite() || actual.getBlack() != pos.getBlack()
+                        || actual.getKings() != pos.getKings() || actual.isWhiteToMove() != pos.isWhiteToMove()) {
+                    if (failures++ < 5) {
+                        System.out.println("GameModel nesouhlasí " + rules + " u tahu " + move + ": " + message[0]);
+                    }
+                    break;
+                }
+                if (model.isGameEnded() != (MoveGenerator.outcome(pos) != 0)) {
+                    failures++;
+                    System.out.println("GameModel jinak ukončil hru " + rules);
+                    break;
+                }
+            }
+        }
+        return failures;
+    }
+
+    private static void time(String label, Position[] positions, double seconds, boolean naive) {
+        long generated = 0;
+        long count = 0;
+        long start = System.nanoTime();
+        long end = start + (long) (seconds * 1e9);
+        while (System.nanoTime() < end) {
+            for (Position pos : positions) {
+                generated += (naive ? naiveGenerate(pos) : MoveGenerator.generate(pos)).size();
+            }
+            count += positions.length;
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-24s %.2f M pozic/s, %.1f tahů na pozici%n", label, count / elapsed / 1e6, (double) generated / count);
+    }
+
+    public static void main(String[] args) {
+        int positions = 20_000;
+        int games = 500;
+        double seconds = 3;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--positions": positions = Integer.parseInt(args[++i]); break;
+                case "--games": games = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Double.parseDouble(args[++i]); break;
+                default: break;
+            }
+        }
+
+        Random random = new Random(7);
+        int failures = 0;
+        for (BoardGeometry geometry : new BoardGeometry[]{BoardGeometry.CHECKERS, BoardGeometry.INTERNATIONAL}) {
+            Rules rules = new Rules(geometry, true, false);
+            failures += compareWithNaive(rules, positions, random);
+            failures += compareWithModel(rules, games, random);
+        }
+        System.out.println(failures == 0 ? "kontrola v pořádku" : "chyby: " + failures);
+
+        for (BoardGeometry geometry : new BoardGeometry[]{BoardGeometry.CHECKERS, BoardGeometry.INTERNATIONAL}) {
+            Rules rules = new Rules(geometry, true, false);
+            Position[] endgames = new Position[1000];
+            for (int i = 0; i < endgames.length; i++) {
+                endgames[i] = randomKingEndgame(rules, random);
+            }
+            time(geometry + " paprsky", endgames, seconds, false);
+            time(geometry + " naivně", endgames, seconds, true);
+        }
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
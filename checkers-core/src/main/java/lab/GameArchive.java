@@ -0,0 +1,153 @@
+/*
+ * GameArchive
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Text archive of finished games, one game per line:
+ * <pre>rules;result;moves</pre>
+ * Rules are the board size followed by f for flying kings and m for maximum capture
+ * (e.g. 8 or 10fm), the result is 1-0 (white won), 0-1 (black won) or 1/2, moves are in
+ * the notation of {@link Move#toString} separated by spaces, starting from the initial
+ * position. Games are replayed move by move when read, so a line with a move which is
+ * not legal in its position is reported and skipped.
+ */
+public final class GameArchive {
+    public static final int WHITE_WON = 1;
+    public static final int BLACK_WON = -1;
+    public static final int DRAW = 0;
+
+    /**
+     * One archived game with the rules, result and all positions in order.
+     */
+    public static final class Game {
+        private final Rules rules;
+        private final int result;
+        private final List<Move> moves;
+        private final List<Position> positions;
+
+        Game(Rules rules, int result, List<Move> moves, List<Position> positions) {
+            this.rules = rules;
+            this.result = result;
+            this.moves = moves;
+            this.positions = positions;
+        }
+
+        public Rules getRules() { return rules; }
+        /** {@link #WHITE_WON}, {@link #BLACK_WON} or {@link #DRAW}. */
+        public int getResult() { return result; }
+        public List<Move> getMoves() { return moves; }
+        /** Positions before every move and the final one. */
+        public List<Position> getPositions() { return positions; }
+    }
+
+    private GameArchive() {
+    }
+
+    public static String format(Rules rules, int result, List<String> moves) {
+        StringBuilder sb = new StringBuilder(rulesCode(rules));
+        sb.append(';').append(result == WHITE_WON ? "1-0" : result == BLACK_WON ? "0-1" : "1/2").append(';');
+        sb.append(String.join(" ", moves));
+        return sb.toString();
+    }
+
+    /**
+     * Parses and replays one archive line, throws IllegalArgumentException when it is broken.
+     */
+    public static Game parse(String line) {
+        String[] parts = line.split(";", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Neplatný záznam hry: " + line);
+        }
+        Rules rules = parseRules(parts[0].trim());
+        int result;
+        switch (parts[1].trim()) {
+            case "1-0": result = WHITE_WON; break;
+            case "0-1": result = BLACK_WON; break;
+            case "1/2": result = DRAW; break;
+            default: throw new IllegalArgumentException("Neplatný výsledek: " + parts[1]);
+        }
+
+        List<Move> moves = new ArrayList<>();
+        List<Position> positions = new ArrayList<>();
+        Position pos = Position.initial(rules);
+        positions.add(pos);
+        for (String notation : parts[2].trim().split(" ")) {
+            if (notation.isEmpty()) continue;
+            Move played = null;
+            for (Move move : MoveGenerator.generate(pos)) {
+                if (move.toString().equals(notation)) {
+                    played = move;
+                    break;
+                }
+            }
+            if (played == null) {
+                throw new IllegalArgumentException("Neplatný tah " + notation + " v " + pos.toFen());
+            }
+            moves.add(played);
+            pos = pos.play(played);
+            positions.add(pos);
+        }
+        return new Game(rules, result, moves, positions);
+    }
+
+    /**
+     * Rules as written in the archive, e.g. 8 or 10fm.
+     */
+    static String rulesCode(Rules rules) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(rules.getGeometry().getSize());
+        if (rules.isFlyingKings()) sb.append('f');
+        if (rules.isMaximumCapture()) sb.append('m');
+        return sb.toString();
+    }
+
+    static Rules parseRules(String code) {
+        int digits = 0;
+        while (digits < code.length() && Character.isDigit(code.charAt(digits))) {
+            digits++;
+        }
+        if (digits == 0) {
+            throw new IllegalArgumentException("Neplatná pravidla: " + code);
+        }
+        String options = code.substring(digits);
+        return new Rules(BoardGeometry.of(Integer.parseInt(code.substring(0, digits))),
+                options.contains("f"), options.contains("m"));
+    }
+
+    /**
+     * Reads all games of the file in order, broken lines are reported on stderr and skipped.
+     * Returns the number of games read.
+     */
+    public static int read(Path file, Consumer<Game> consumer) throws IOException {
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                try {
+                    consumer.accept(parse(line));
+                    count++;
+                } catch (IllegalArgumentException e) {
+                    System.err.println(file + ":" + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * GameEvent
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+/**
+ * Something that happened in a game, published for spectators.
+ * MOVE is one step of a piece (every jump is a separate MOVE), CAPTURE and PROMOTION
+ * carry the affected square in row/col, GAME_END carries the winner.
+ */
+public class GameEvent {
+    public enum Type {
+        MOVE, CAPTURE, PROMOTION, GAME_END
+    }
+
+    private final int gameId;
+    private final Type type;
+    private final int moveNumber;
+    private final int fromRow;
+    private final int fromCol;
+    private final int row;
+    private final int col;
+    private final String winner;
+
+    private GameEvent(int gameId, Type type, int moveNumber, int fromRow, int fromCol, int row, int col, String winner) {
+        this.gameId = gameId;
+        this.type = type;
+        this.moveNumber = moveNumber;
+        this.fromRow = fromRow;
+        this.fromCol = fromCol;
+        this.row = row;
+        this.col = col;
+        this.winner = winner;
+    }
+
+    public static GameEvent move(int gameId, int moveNumber, int fromRow, int fromCol, int toRow, int toCol) {
+        return new GameEvent(gameId, Type.MOVE, moveNumber, fromRow, fromCol, toRow, toCol, null);
+    }
+
+    public static GameEvent capture(int gameId, int moveNumber, int row, int col) {
+        return new GameEvent(gameId, Type.CAPTURE, moveNumber, -1, -1, row, col, null);
+    }
+
+    public static GameEvent promotion(int gameId, int moveNumber, int row, int col) {
+        return new GameEvent(gameId, Type.PROMOTION, moveNumber, -1, -1, row, col, null);
+    }
+
+    public static GameEvent gameEnd(int gameId, int moveNumber, String winner) {
+        return new GameEvent(gameId, Type.GAME_END, moveNumber, -1, -1, -1, -1, winner);
+    }
+
+    public int getGameId() { return gameId; }
+    public Type getType() { return type; }
+    public int getMoveNumber() { return moveNumber; }
+    public int getFromRow() { return fromRow; }
+    public int getFromCol() { return fromCol; }
+    public int getRow() { return row; }
+    public int getCol() { return col; }
+    public String getWinner() { return winner; }
+
+    /**
+     * Text form used by the server, e.g. "12 MOVE c3-d4" or "12 END Adel".
+     */
+    @Override
+    public String toString() {
+        switch (type) {
+            case MOVE:
+                return gameId + " MOVE " + BoardGeometry.squareName(fromRow, fromCol)
+                        + "-" + BoardGeometry.squareName(row, col);
+            case CAPTURE:
+                return gameId + " CAPTURE " + BoardGeometry.squareName(row, col);
+            case PROMOTION:
+                return gameId + " PROMOTION " + BoardGeometry.squareName(row, col);
+            default:
+                return gameId + " END " + winner;
+        }
+    }
+}
@@ -0,0 +1,769 @@
+package lab;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/*
+ * GameModel
+ *
+ * Version 1.2
+ *
+ * 2025 Checkers Project
+ */
+
+/**
+ * Represents the game logic and state independent of the view.
+ * Handles moves, rules, and game state management.
+ */
+public class GameModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final LatencyHistogram CLICK_TIME = Metrics.histogram("game.click");
+    private static final LatencyHistogram MOVE_TIME = Metrics.histogram("game.move");
+    private static final LatencyHistogram GAME_END_TIME = Metrics.histogram("game.checkEnd");
+    private static final LatencyHistogram SAVE_TIME = Metrics.histogram("game.save");
+    private static final LatencyHistogram LOAD_TIME = Metrics.histogram("game.load");
+    private static final Counter MOVES = Metrics.counter("game.moves");
+    private static final Counter CAPTURES = Metrics.counter("game.captures");
+    private static final Counter INVALID_MOVES = Metrics.counter("game.invalidMoves");
+    private static final Counter GAMES_ENDED = Metrics.counter("game.ended");
+
+    private int boardSize;
+    private boolean flyingKings;
+    private boolean maximumCapture;
+    private List<Piece> pieces;
+    private Piece selectedPiece = null;
+    private boolean whiteTurn = false;
+    private boolean mustContinueJump = false;
+    private boolean gameEnded = false;
+    private int moveCount = 0;
+    private final long gameStartTime;
+    private Piece.PieceColor computerColor = null;
+
+    // changes with every change of the position, engine results for older version are dropped
+    private transient volatile long version = 0;
+
+    private final Player whitePlayer;
+    private final Player blackPlayer;
+
+    private transient DataManager dataManager;
+
+    // Transient = not saving to file (callbacks)
+    private transient Consumer<String> onMessage;
+    private transient Consumer<String> onGameEnd;
+    private transient Consumer<GameEvent> eventListener;
+    private transient int gameId;
+    // maximal capture sequences still matching the jumps made in this turn
+    private transient List<Move> maximalCaptures;
+    private transient int jumpsMade;
+    // moves in GameArchive notation;
+    // null log = the game cannot be archived (loaded in the middle of a jump or from an old save)
+    private ArrayList<String> moveLog;
+    // squares played in the current turn, the move log entry is built from them
+    private transient int turnFrom = -1;
+    private transient int[] turnPath = new int[0];
+    private transient long turnCaptured;
+    // records the clicks of the session when set, for replaying them in ClickStress
+    private transient ClickRecorder clickRecorder;
+    // positions since the last capture or man move for the draw rules,
+    // a loaded game starts the history at the loaded position
+    private transient DrawTracker draws;
+    private transient boolean irreversibleTurn;
+    // why the game ended in a draw, null when it did not
+    private String drawReason;
+
+    public GameModel(Player white, Player black, DataManager dataMgr,
+                     Consumer<String> onMessage, Consumer<String> onGameEnd) {
+        this(Rules.CHECKERS, white, black, dataMgr, onMessage, onGameEnd);
+    }
+
+    public GameModel(Rules rules, Player white, Player black, DataManager dataMgr,
+                     Consumer<String> onMessage, Consumer<String> onGameEnd) {
+        this.boardSize = rules.getGeometry().getSize();
+        this.flyingKings = rules.isFlyingKings();
+        this.maximumCapture = rules.isMaximumCapture();
+        this.whitePlayer = white;
+        this.blackPlayer = black;
+        this.dataManager = dataMgr;
+        this.onMessage = onMessage;
+        this.onGameEnd = onGameEnd;
+
+        this.gameStartTime = System.currentTimeMillis();
+        this.pieces = new ArrayList<>();
+        initializePieces();
+        this.moveLog = new ArrayList<>();
+        this.draws = new DrawTracker(Position.fromModel(this).getHash());
+    }
+
+    /**
+     * Model set up in the given position instead of the initial one, so the rules can be
+     * checked against the engine in any position (see {@link RulesFuzzer}). Such a game
+     * is not archived.
+     */
+    static GameModel fromPosition(Position pos, DataManager dataMgr,
+                                  Consumer<String> onMessage, Consumer<String> onGameEnd) {
+        GameModel model = new GameModel(pos.getRules(), new Player("bily"), new Player("cerny"), dataMgr,
+                onMessage, onGameEnd);
+        BoardGeometry geometry = pos.getGeometry();
+        model.pieces.clear();
+        for (long bits = pos.getWhite() | pos.getBlack(); bits != 0; bits &= bits - 1) {
+            int square = Long.numberOfTrailingZeros(bits);
+            Piece piece = new Piece(geometry.row(square), geometry.col(square),
+                    (pos.getWhite() & (1L << square)) != 0 ? Piece.PieceColor.WHITE : Piece.PieceColor.BLACK);
+            piece.setQueen((pos.getKings() & (1L << square)) != 0);
+            model.pieces.add(piece);
+        }
+        model.whiteTurn = pos.isWhiteToMove();
+        model.moveLog = null;
+        model.draws = new DrawTracker(pos.getHash());
+        return model;
+    }
+
+    /**
+     * Sets up initial piece positions.
+     */
+    private void initializePieces() {
+        int pieceRows = getGeometry().getPieceRows();
+        // White pieces
+        for (int row = 0; row < pieceRows; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                if ((row + col) % 2 == 0) {
+                    pieces.add(new Piece(row, col, Piece.PieceColor.WHITE));
+                }
+            }
+        }
+        // Black pieces
+        for (int row = boardSize - pieceRows; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                if ((row + col) % 2 == 0) {
+                    pieces.add(new Piece(row, col, Piece.PieceColor.BLACK));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Saves the current game state to a binary file.
+     */
+    public void saveGame(String filePath) {
+        long start = System.nanoTime();
+        FlightEvents.GameFileEvent event = new FlightEvents.GameFileEvent();
+        event.begin();
+        boolean success = false;
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(filePath))) {
+            out.writeObject(this);
+            success = true;
+            if (onMessage != null) onMessage.accept("Hra byla uložena.");
+        } catch (IOException e) {
+            if (onMessage != null) onMessage.accept("Chyba při ukládání: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            SAVE_TIME.record(System.nanoTime() - start);
+            commitFileEvent(event, filePath, "save", success);
+        }
+    }
+
+    /**
+     * Loads the game state from a binary file.
+     * Must be static to create a new instance.
+     */
+    public static GameModel loadGame(String filePath,
+                                     Consumer<String> msg, Consumer<String> end,
+                                     DataManager dataManager) {
+        long start = System.nanoTime();
+        FlightEvents.GameFileEvent event = new FlightEvents.GameFileEvent();
+        event.begin();
+        boolean success = false;
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(filePath))) {
+            GameModel loadedModel = (GameModel) in.readObject();
+
+            loadedModel.restoreState(msg, end, dataManager);
+            success = true;
+            return loadedModel;
+        } catch (IOException | ClassNotFoundException e) {
+            msg.accept("Nepodařilo se načíst hru.");
+            e.printStackTrace();
+            return null;
+        } finally {
+            LOAD_TIME.record(System.nanoTime() - start);
+            commitFileEvent(event, filePath, "load", success);
+        }
+    }
+
+    private static void commitFileEvent(FlightEvents.GameFileEvent event, String filePath,
+                                        String operation, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = filePath;
+            event.operation = operation;
+            event.bytes = new File(filePath).length();
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    // games saved before the board size was configurable are 8x8
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (boardSize == 0) {
+            boardSize = 8;
+        }
+        // the squares of a turn saved in the middle of a jump are not known
+        if (mustContinueJump) {
+            moveLog = null;
+        }
+        turnFrom = -1;
+        turnPath = new int[0];
+        draws = new DrawTracker(Position.fromModel(this).getHash());
+        // a game saved in the middle of a jump has captured already
+        irreversibleTurn = mustContinueJump;
+    }
+
+    /**
+     * Restores callbacks after deserialization.
+     */
+    private void restoreState(Consumer<String> msg, Consumer<String> end,
+                              DataManager dataManager) {
+        this.onMessage = msg;
+        this.onGameEnd = end;
+        this.dataManager = dataManager;
+    }
+
+    //Game logic
+    public void handleTileClick(int row, int col) {
+        if (clickRecorder != null) {
+            clickRecorder.record(row, col);
+        }
+        long start = System.nanoTime();
+        try {
+            processClick(row, col);
+        } finally {
+            CLICK_TIME.record(System.nanoTime() - start);
+        }
+    }
+
+    private void processClick(int row, int col) {
+        if (gameEnded) return;
+        // the canvas can be wider than the board, clicks beside it are not moves
+        if (row < 0 || row >= boardSize || col < 0 || col >= boardSize) return;
+
+        Piece clickedPiece = findPieceAt(row, col);
+
+        if (mustContinueJump) {
+            if (clickedPiece != null && clickedPiece != selectedPiece) {
+                onMessage.accept("Musíš dokončit skákání s vybranou figurkou!");
+                return;
+            }
+        }
+
+        boolean globalMustCapture = checkGlobalMustCapture();
+
+        if (clickedPiece != null) {
+            if (mustContinueJump) return;
+            boolean belongsToCurrent = (whiteTurn && clickedPiece.getColor() == Piece.PieceColor.WHITE) ||
+                    (!whiteTurn && clickedPiece.getColor() == Piece.PieceColor.BLACK);
+
+            if (belongsToCurrent) {
+                if (!globalMustCapture || hasCaptureFrom(clickedPiece)) {
+                    if (maximumCapture && globalMustCapture && !startsMaximalCapture(clickedPiece)) {
+                        onMessage.accept("Musíš táhnout figurkou, která vezme nejvíc kamenů!");
+                    } else {
+                        selectedPiece = clickedPiece;
+                    }
+                } else {
+                    onMessage.accept("Musíš táhnout figurkou, která může brát!");
+                }
+            }
+        } else if (selectedPiece != null) {
+            tryMove(row, col, globalMustCapture);
+        }
+    }
+
+    private void tryMove(int row, int col, boolean globalMustCapture) {
+        long start = System.nanoTime();
+        FlightEvents.MoveEvent event = new FlightEvents.MoveEvent();
+        event.begin();
+        int fromRow = selectedPiece.getRow();
+        int fromCol = selectedPiece.getCol();
+        long versionBefore = version;
+        int piecesBefore = pieces.size();
+        try {
+            applyMove(row, col, globalMustCapture);
+        } finally {
+            MOVE_TIME.record(System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.gameId = gameId;
+                event.from = BoardGeometry.squareName(fromRow, fromCol);
+                event.to = BoardGeometry.squareName(row, col);
+                event.valid = version != versionBefore;
+                event.capture = pieces.size() < piecesBefore;
+                event.commit();
+            }
+        }
+    }
+
+    private void applyMove(int row, int col, boolean globalMustCapture) {
+        Piece captured = getCapturedPieceIfAny(selectedPiece, row, col);
+
+        if (globalMustCapture && captured == null) {
+            INVALID_MOVES.increment();
+            onMessage.accept("Neplatný tah: je povinné brát!");
+            return;
+        }
+
+        int fromRow = selectedPiece.getRow();
+        int fromCol = selectedPiece.getCol();
+
+        if (captured != null && maximumCapture && !acceptMaximalJump(row, col)) {
+            INVALID_MOVES.increment();
+            onMessage.accept("Neplatný tah: musíš vzít co nejvíce kamenů!");
+            return;
+        }
+
+        if (captured != null) {
+            irreversibleTurn = true;
+            recordStep(fromRow, fromCol, row, col);
+            turnCaptured |= 1L << getGeometry().square(captured.getRow(), captured.getCol());
+            pieces.remove(captured);
+            selectedPiece.setPosition(row, col);
+            version++;
+            CAPTURES.increment();
+            publish(GameEvent.move(gameId, moveCount + 1, fromRow, fromCol, row, col));
+            publish(GameEvent.capture(gameId, moveCount + 1, captured.getRow(), captured.getCol()));
+            boolean promoted = maybePromote(selectedPiece);
+
+            if (!promoted && hasCaptureFrom(selectedPiece)) {
+                mustContinueJump = true;
+                onMessage.accept("Musíš skákat dál!");
+            } else {
+                endTurn();
+            }
+        } else if (!globalMustCapture && isValidSimpleMove(selectedPiece, row, col)) {
+            irreversibleTurn = !selectedPiece.isQueen();
+            recordStep(fromRow, fromCol, row, col);
+            selectedPiece.setPosition(row, col);
+            publish(GameEvent.move(gameId, moveCount + 1, fromRow, fromCol, row, col));
+            maybePromote(selectedPiece);
+            endTurn();
+        } else {
+            INVALID_MOVES.increment();
+            onMessage.accept("Neplatný tah.");
+        }
+    }
+
+    private void endTurn() {
+        version++;
+        MOVES.increment();
+        maximalCaptures = null;
+        jumpsMade = 0;
+        mustContinueJump = false;
+        selectedPiece = null;
+        whiteTurn = !whiteTurn;
+        moveCount++;
+        Position after = Position.fromModel(this);
+        draws.add(after.getHash(), irreversibleTurn);
+        irreversibleTurn = false;
+        recordMove();
+        checkGameEnd();
+    }
+
+    /**
+     * Notes one step of the turn in progress, the start square with the first one.
+     */
+    private void recordStep(int fromRow, int fromCol, int row, int col) {
+        if (turnFrom < 0) turnFrom = getGeometry().square(fromRow, fromCol);
+        turnPath = Arrays.copyOf(turnPath, turnPath.length + 1);
+        turnPath[turnPath.length - 1] = getGeometry().square(row, col);
+    }
+
+    /**
+     * Adds the finished turn to the move log, built from the squares that were played.
+     */
+    private void recordMove() {
+        if (moveLog != null) {
+            moveLog.add(new Move(getGeometry(), turnFrom, turnPath, turnCaptured).toString());
+        }
+        turnFrom = -1;
+        turnPath = new int[0];
+        turnCaptured = 0;
+    }
+
+    //streams
+    private boolean checkGlobalMustCapture() {
+        return pieces.stream().anyMatch(p ->
+                ((whiteTurn && p.getColor() == Piece.PieceColor.WHITE) ||
+                        (!whiteTurn && p.getColor() == Piece.PieceColor.BLACK))
+                        && hasCaptureFrom(p)
+        );
+    }
+
+    // called for every square the rules look at, a plain loop avoids building a stream each time
+    private Piece findPieceAt(int row, int col) {
+        for (Piece p : pieces) {
+            if (p.getRow() == row && p.getCol() == col) {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    //helper, the rule checks are package-private so RulesFuzzer can compare them with the engine
+    boolean hasCaptureFrom(Piece piece) {
+        if (flyingKings && piece.isQueen()) {
+            return hasFlyingCaptureFrom(piece);
+        }
+        int[][] dirs = getDirections(piece);
+
+        for (int[] d : dirs) {
+            int tr = piece.getRow() + d[0] * 2;
+            int tc = piece.getCol() + d[1] * 2;
+
+            if (tr < 0 || tr >= boardSize || tc < 0 || tc >= boardSize) {
+                continue;
+            }
+            if (findPieceAt(tr, tc) != null) {
+                continue;
+            }
+
+            int mr = piece.getRow() + d[0];
+            int mc = piece.getCol() + d[1];
+            Piece mid = findPieceAt(mr, mc);
+            if (isOpponent(piece, mid)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Piece getCapturedPieceIfAny(Piece piece, int targetRow, int targetCol) {
+        if (flyingKings && piece.isQueen()) {
+            return getFlyingCapture(piece, targetRow, targetCol);
+        }
+        int dr = targetRow - piece.getRow();
+        int dc = targetCol - piece.getCol();
+
+        if (Math.abs(dr) == 2 && Math.abs(dc) == 2) {
+            int stepRow = dr / 2;
+            int stepCol = dc / 2;
+
+            boolean directionAllowed = false;
+            for (int[] d : getDirections(piece)) {
+                if (d[0] == stepRow && d[1] == stepCol) {
+                    directionAllowed = true;
+                    break;
+                }
+            }
+
+            if (!directionAllowed) {
+                return null;
+            }
+
+            if (targetRow >= 0 && targetRow < boardSize && targetCol >= 0 && targetCol < boardSize &&
+                    findPieceAt(targetRow, targetCol) == null) {
+                int mr = piece.getRow() + dr / 2;
+                int mc = piece.getCol() + dc / 2;
+                Piece mid = findPieceAt(mr, mc);
+                if (isOpponent(piece, mid)) {
+                    return mid;
+                }
+            }
+        }
+        return null;
+    }
+
+    boolean isValidSimpleMove(Piece piece, int targetRow, int targetCol) {
+        if ((targetRow + targetCol) % 2 != 0) {
+            return false;
+        }
+        if (findPieceAt(targetRow, targetCol) != null) {
+            return false;
+        }
+
+        int dr = targetRow - piece.getRow();
+        int dc = targetCol - piece.getCol();
+
+        if (flyingKings && piece.isQueen()) {
+            BoardGeometry geometry = getGeometry();
+            int d = BoardGeometry.direction(dr, dc);
+            return d >= 0 && geometry.contains(targetRow, targetCol)
+                    && (geometry.slide(d, geometry.square(piece.getRow(), piece.getCol()), occupiedSquares(geometry))
+                    & (1L << geometry.square(targetRow, targetCol))) != 0;
+        }
+
+        int[][] dirs = getDirections(piece);
+        for (int[] d : dirs) {
+            if (d[0] == dr && d[1] == dc) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Flying queen captures the first piece on a diagonal if it is an opponent with free
+     * square behind it. Blockers are found in the ray tables, not by walking the squares.
+     */
+    private boolean hasFlyingCaptureFrom(Piece piece) {
+        BoardGeometry geometry = getGeometry();
+        long occupied = occupiedSquares(geometry);
+        int square = geometry.square(piece.getRow(), piece.getCol());
+        for (int d = 0; d < 4; d++) {
+            int blocker = geometry.firstBlocker(d, square, occupied);
+            if (blocker < 0) continue;
+            int land = geometry.neighbor(d, blocker);
+            if (land >= 0 && (occupied & (1L << land)) == 0
+                    && isOpponent(piece, findPieceAt(geometry.row(blocker), geometry.col(blocker)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Piece getFlyingCapture(Piece piece, int targetRow, int targetCol) {
+        BoardGeometry geometry = getGeometry();
+        int d = BoardGeometry.direction(targetRow - piece.getRow(), targetCol - piece.getCol());
+        if (d < 0 || !geometry.contains(targetRow, targetCol)) {
+            return null;
+        }
+        long occupied = occupiedSquares(geometry);
+        int blocker = geometry.firstBlocker(d, geometry.square(piece.getRow(), piece.getCol()), occupied);
+        if (blocker < 0 || (geometry.slide(d, blocker, occupied) & (1L << geometry.square(targetRow, targetCol))) == 0) {
+            return null;
+        }
+        Piece mid = findPieceAt(geometry.row(blocker), geometry.col(blocker));
+        return isOpponent(piece, mid) ? mid : null;
+    }
+
+    /**
+     * Maximal capture sequences of this turn from the engine, computed on the first need.
+     * Null for a game loaded in the middle of a sequence, then the jump is not restricted.
+     */
+    private List<Move> maximalCaptures() {
+        if (maximalCaptures == null && !mustContinueJump) {
+            maximalCaptures = new ArrayList<>(MoveGenerator.generate(Position.fromModel(this)));
+        }
+        return maximalCaptures;
+    }
+
+    private boolean startsMaximalCapture(Piece piece) {
+        List<Move> maximal = maximalCaptures();
+        if (maximal == null) return true;
+        int square = getGeometry().square(piece.getRow(), piece.getCol());
+        return maximal.stream().anyMatch(m -> m.getFrom() == square);
+    }
+
+    /**
+     * Checks the jump of the selected piece continues some maximal sequence and keeps only those sequences.
+     */
+    private boolean acceptMaximalJump(int row, int col) {
+        List<Move> maximal = maximalCaptures();
+        if (maximal == null) return true;
+        BoardGeometry geometry = getGeometry();
+        int square = geometry.square(selectedPiece.getRow(), selectedPiece.getCol());
+        int target = geometry.square(row, col);
+        List<Move> matching = new ArrayList<>();
+        for (Move move : maximal) {
+            int[] path = move.getPath();
+            int at = jumpsMade == 0 ? move.getFrom() : path[jumpsMade - 1];
+            if (at == square && path.length > jumpsMade && path[jumpsMade] == target) {
+                matching.add(move);
+            }
+        }
+        if (matching.isEmpty()) return false;
+        maximalCaptures = matching;
+        jumpsMade++;
+        return true;
+    }
+
+    private long occupiedSquares(BoardGeometry geometry) {
+        long occupied = 0;
+        for (Piece p : pieces) {
+            occupied |= 1L << geometry.square(p.getRow(), p.getCol());
+        }
+        return occupied;
+    }
+
+    /**
+     * Promotes a piece to queen if reaches opposite end of the board.
+     */
+    private boolean maybePromote(Piece piece) {
+        boolean promoted = false;
+        if (!piece.isQueen()) {
+            if (piece.getColor() == Piece.PieceColor.WHITE && piece.getRow() == boardSize - 1) {
+                piece.setQueen(true);
+                promoted = true;
+                publish(GameEvent.promotion(gameId, moveCount + 1, piece.getRow(), piece.getCol()));
+            } else if (piece.getColor() == Piece.PieceColor.BLACK && piece.getRow() == 0) {
+                piece.setQueen(true);
+                promoted = true;
+                publish(GameEvent.promotion(gameId, moveCount + 1, piece.getRow(), piece.getCol()));
+            }
+        }
+        return promoted;
+    }
+
+    private void checkGameEnd() {
+        long start = System.nanoTime();
+        FlightEvents.GameEndEvent event = new FlightEvents.GameEndEvent();
+        event.begin();
+        String winner = null;
+        try {
+            winner = evaluateGameEnd();
+        } finally {
+            GAME_END_TIME.record(System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.gameId = gameId;
+                event.ended = winner != null;
+                event.winner = winner;
+                event.moves = moveCount;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Ends the game when a side cannot move or a draw rule applies. Returns the winner's
+     * name, {@link ResultStore#NO_WINNER} for a draw and null while the game goes on.
+     */
+    private String evaluateGameEnd() {
+        int whitePieces = 0;
+        int blackPieces = 0;
+        boolean whiteCanMove = false;
+        boolean blackCanMove = false;
+
+        for (Piece p : pieces) {
+            if (p.getColor() == Piece.PieceColor.WHITE) {
+                whitePieces++;
+                if (!whiteCanMove && canPieceMove(p)) {
+                    whiteCanMove = true;
+                }
+            } else {
+                blackPieces++;
+                if (!blackCanMove && canPieceMove(p)) {
+                    blackCanMove = true;
+                }
+            }
+        }
+
+        String winner = null;
+        int outcome = GameArchive.DRAW;
+        if (whitePieces == 0 || !whiteCanMove) {
+            winner = blackPlayer.getName();
+            outcome = GameArchive.BLACK_WON;
+        } else if (blackPieces == 0 || !blackCanMove) {
+            winner = whitePlayer.getName();
+            outcome = GameArchive.WHITE_WON;
+        } else if (draws.isDraw()) {
+            winner = ResultStore.NO_WINNER;
+            drawReason = draws.isRepetition() ? "trojí opakování pozice"
+                    : DrawTracker.QUIET_MOVES + " tahů bez braní a tahu kamenem";
+        }
+
+        if (winner != null) {
+            gameEnded = true;
+            GAMES_ENDED.increment();
+            long gameDuration = System.currentTimeMillis() - gameStartTime;
+            GameResult result = new GameResult(
+                    whitePlayer.getName(),
+                    blackPlayer.getName(),
+                    winner,
+                    moveCount,
+                    gameDuration
+            );
+            if (moveLog != null) {
+                dataManager.archiveGame(GameArchive.format(getRules(), outcome, moveLog));
+            }
+            dataManager.addGameResult(result);
+            publish(GameEvent.gameEnd(gameId, moveCount, winner));
+
+            onGameEnd.accept(winner);
+        }
+        return winner;
+    }
+
+    private boolean canPieceMove(Piece piece) {
+        if (hasCaptureFrom(piece)) {
+            return true;
+        }
+        int[][] dirs = getDirections(piece);
+
+        for (int[] d : dirs) {
+            int tr = piece.getRow() + d[0];
+            int tc = piece.getCol() + d[1];
+            if (tr >= 0 && tr < boardSize && tc >= 0 && tc < boardSize &&
+                    (tr + tc) % 2 == 0 && findPieceAt(tr, tc) == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int[][] getDirections(Piece piece) {
+        if (piece.isQueen()) {
+            return new int[][]{{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+        } else if (piece.getColor() == Piece.PieceColor.WHITE) {
+            return new int[][]{{1, -1}, {1, 1}};
+        } else {
+            return new int[][]{{-1, -1}, {-1, 1}};
+        }
+    }
+
+    /**
+     * Registers listener of game events (moves, captures, promotions, game end).
+     * Game id is copied into every event so one listener can serve many games.
+     */
+    public void setEventListener(int gameId, Consumer<GameEvent> listener) {
+        this.gameId = gameId;
+        this.eventListener = listener;
+    }
+
+    /**
+     * Records every following click, null stops recording.
+     */
+    public void setClickRecorder(ClickRecorder recorder) {
+        this.clickRecorder = recorder;
+    }
+
+    private void publish(GameEvent event) {
+        if (eventListener != null) {
+            eventListener.accept(event);
+        }
+    }
+
+    private boolean isOpponent(Piece a, Piece b) {
+        return a != null && b != null && a.getColor() != b.getColor();
+    }
+
+    public BoardGeometry getGeometry() { return BoardGeometry.of(boardSize); }
+    public Rules getRules() { return new Rules(getGeometry(), flyingKings, maximumCapture); }
+    public int getBoardSize() { return boardSize; }
+    public List<Piece> getPieces() { return pieces; }
+    public Piece getSelectedPiece() { return selectedPiece; }
+    public boolean isWhiteTurn() { return whiteTurn; }
+    public int getMoveCount() { return moveCount; }
+    public boolean isGameEnded() { return gameEnded; }
+    public boolean isDraw() { return drawReason != null; }
+    /** Why the game was drawn, null unless it ended in a draw. */
+    public String getDrawReason() { return drawReason; }
+    public Player getWhitePlayer() { return whitePlayer; }
+    public Player getBlackPlayer() { return blackPlayer; }
+    public long getStartTime() { return gameStartTime; }
+    public long getVersion() { return version; }
+    public boolean isMustContinueJump() { return mustContinueJump; }
+    public Piece.PieceColor getComputerColor() { return computerColor; }
+    public void setComputerColor(Piece.PieceColor computerColor) { this.computerColor = computerColor; }
+
+    /**
+     * True if the side to move is played by the engine.
+     */
+    public boolean isComputerTurn() {
+        if (computerColor == null || gameEnded) return false;
+        return (computerColor == Piece.PieceColor.WHITE) == whiteTurn;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+/*
+ * GameObject
+ *
+ * Version 1.1
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.io.Serializable;
+
+/**
+ * Base class for game objects placed on the board.
+ * Rendering is done in the FX layer, the object itself holds only its position.
+ */
+public abstract class GameObject implements Positionable, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    protected int row;
+    protected int col;
+
+    public GameObject(int row, int col) {
+        this.row = row;
+        this.col = col;
+    }
+
+    @Override
+    public int getRow() {
+        return row;
+    }
+
+    @Override
+    public int getCol() {
+        return col;
+    }
+
+    @Override
+    public void setPosition(int row, int col) {
+        this.row = row;
+        this.col = col;
+    }
+}
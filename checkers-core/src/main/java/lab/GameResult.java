@@ -6,7 +6,9 @@
  * 2025 Checkers Project
  */
 package lab;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -19,16 +21,22 @@ public class GameResult implements  Comparable<GameResult> {
     private final String winner;
     private final int totalMoves;
     private final long gameDurationMillis;
-    private final LocalDateTime timestamp;
+    // end of the game in epoch millis, 0 when unknown (results saved before it was stored)
+    private final long timestampMillis;
 
     public GameResult(String whitePlayerName, String blackPlayerName, String winner,
                       int totalMoves, long gameDurationMillis) {
+        this(whitePlayerName, blackPlayerName, winner, totalMoves, gameDurationMillis, System.currentTimeMillis());
+    }
+
+    public GameResult(String whitePlayerName, String blackPlayerName, String winner,
+                      int totalMoves, long gameDurationMillis, long timestampMillis) {
         this.whitePlayerName = whitePlayerName;
         this.blackPlayerName = blackPlayerName;
         this.winner = winner;
         this.totalMoves = totalMoves;
         this.gameDurationMillis = gameDurationMillis;
-        this.timestamp = LocalDateTime.now();
+        this.timestampMillis = timestampMillis;
     }
 
     public String getWhitePlayerName() {
@@ -43,6 +51,13 @@ public class GameResult implements  Comparable<GameResult> {
         return winner;
     }
 
+    /**
+     * True if nobody won, the winner is then {@link ResultStore#NO_WINNER}.
+     */
+    public boolean isDraw() {
+        return !winner.equals(whitePlayerName) && !winner.equals(blackPlayerName);
+    }
+
     public int getTotalMoves() {
         return totalMoves;
     }
@@ -55,6 +70,19 @@ public class GameResult implements  Comparable<GameResult> {
         return gameDurationMillis / 1000;
     }
 
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Local date and time of the game end, null when unknown.
+     */
+    public LocalDateTime getTimestamp() {
+        return timestampMillis != 0
+                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault())
+                : null;
+    }
+
     @Override
     public int compareTo(GameResult other) {
         return Long.compare(this.gameDurationMillis, other.gameDurationMillis);
@@ -68,7 +96,7 @@ public class GameResult implements  Comparable<GameResult> {
         long secs = seconds % 60;
 
         return String.format("%s vs %s | Vítěz: %s | Tahy: %d | Čas: %d:%02d | %s",
-                whitePlayerName, blackPlayerName, winner, totalMoves,
-                minutes, secs, timestamp.format(formatter));
+                whitePlayerName, blackPlayerName, isDraw() ? "remíza" : winner, totalMoves,
+                minutes, secs, timestampMillis != 0 ? getTimestamp().format(formatter) : "?");
     }
 }
\ No newline at end of file
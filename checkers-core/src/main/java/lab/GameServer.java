@@ -0,0 +1,482 @@
+/*
+ * GameServer
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless server hosting many games in one process.
+ *
+ * One thread runs a non-blocking Selector loop and owns all GameModel instances,
+ * so the models need no locking. Text protocol, one command per line:
+ * <pre>
+ *   NEW white black [10] [flying] [maxcapture] -> OK id   (board size 8 by default, rule options)
+ *   MOVE id c3-d4        -> OK | END winner | ERR reason   (jumps as c3xe5xg7, winner - = draw)
+ *   WATCH id | WATCH *   -> OK, then lines "EV id MOVE c3-d4", "EV id CAPTURE d4", ...
+ *   QUIT                 -> connection is closed
+ * </pre>
+ * Spectators get events through {@link EventFanout}; a spectator that does not read
+ * fast enough gets "DROPPED" and no more events.
+ */
+public class GameServer {
+    private static final int DEFAULT_PORT = 7777;
+    private static final int MAX_LINE = 256;
+    private static final long FLUSH_INTERVAL_MILLIS = 5000;
+    private static final long SNAPSHOT_INTERVAL_MILLIS = 10 * 60 * 1000;
+    private static final long REPORT_INTERVAL_MILLIS = 10_000;
+    private static final int SPECTATOR_BUFFER = 1024;
+    private static final int SPECTATOR_BATCH = 256;
+    private static final int MAX_PENDING_BATCHES = 64;
+    private static final int MAX_OUT_BYTES = 256 * 1024;
+
+    private final int port;
+    private final DataManager dataManager;
+    private final Map<Integer, ServerGame> games = new HashMap<>();
+    private final LatencyHistogram moveLatency = new LatencyHistogram();
+    private final EventFanout fanout = new EventFanout(SPECTATOR_BUFFER, SPECTATOR_BATCH, 2);
+    // connections with spectator output waiting, filled by delivery threads
+    private final Queue<SelectionKey> outboxReady = new ConcurrentLinkedQueue<>();
+    private int nextGameId = 1;
+    private long movesPlayed = 0;
+    private long gamesFinished = 0;
+    private volatile boolean running = true;
+    private Selector selector;
+
+    public GameServer(int port, DataManager dataManager) {
+        this.port = port;
+        this.dataManager = dataManager;
+        dataManager.setAutoSave(false);
+    }
+
+    /**
+     * One hosted game. Callbacks of the model only store what happened,
+     * the reply is created after the move is processed.
+     */
+    private static class ServerGame {
+        private final int id;
+        private GameModel model;
+        private String winner;
+
+        ServerGame(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Per connection buffers, attached to the selection key.
+     */
+    private static class Connection {
+        private final ByteBuffer in = ByteBuffer.allocate(8192);
+        private ByteBuffer out = ByteBuffer.allocate(8192);
+        // bytes of the line being read, decoded as UTF-8 once it is complete
+        private final ByteBuffer line = ByteBuffer.allocate(MAX_LINE);
+        private boolean lineTooLong = false;
+        private final Set<Integer> gameIds = new HashSet<>();
+        private final List<EventFanout.Subscription> subscriptions = new ArrayList<>();
+        private final Queue<String> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger outboxSize = new AtomicInteger();
+        private final AtomicBoolean outboxScheduled = new AtomicBoolean();
+        private boolean closing = false;
+    }
+
+    /**
+     * Turns event batches into text lines for one spectator connection.
+     * Runs on fan-out delivery threads, the selector thread does the writing.
+     */
+    private class SpectatorSink implements EventSink {
+        private final SelectionKey key;
+        private final Connection conn;
+
+        SpectatorSink(SelectionKey key, Connection conn) {
+            this.key = key;
+            this.conn = conn;
+        }
+
+        @Override
+        public boolean deliver(List<GameEvent> batch) {
+            if (conn.outboxSize.get() >= MAX_PENDING_BATCHES) {
+                return false;
+            }
+            StringBuilder sb = new StringBuilder(batch.size() * 24);
+            for (GameEvent event : batch) {
+                sb.append("EV ").append(event).append('\n');
+            }
+            offer(sb.toString());
+            return true;
+        }
+
+        @Override
+        public void dropped() {
+            offer("DROPPED\n");
+        }
+
+        private void offer(String text) {
+            conn.outbox.add(text);
+            conn.outboxSize.incrementAndGet();
+            if (conn.outboxScheduled.compareAndSet(false, true)) {
+                outboxReady.add(key);
+                selector.wakeup();
+            }
+        }
+    }
+
+    public void run() throws IOException {
+        selector = Selector.open();
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(port), 1024);
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            System.out.println("Server běží na portu " + port);
+
+            long lastFlush = System.currentTimeMillis();
+            long lastReport = lastFlush;
+            long lastSnapshot = lastFlush;
+            long movesAtReport = 0;
+            while (running) {
+                selector.select(1000);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (!key.isValid()) continue;
+                        if (key.isAcceptable()) accept(server);
+                        if (key.isValid() && key.isReadable()) read(key);
+                        if (key.isValid() && key.isWritable()) write(key);
+                    } catch (IOException e) {
+                        close(key);
+                    }
+                }
+                flushOutboxes();
+
+                long now = System.currentTimeMillis();
+                if (now - lastFlush >= FLUSH_INTERVAL_MILLIS) {
+                    // copies the changes here, the files are written on the data writer thread
+                    dataManager.flushInBackground();
+                    lastFlush = now;
+                }
+                if (now - lastSnapshot >= SNAPSHOT_INTERVAL_MILLIS) {
+                    dataManager.writeSnapshotInBackground();
+                    lastSnapshot = now;
+                }
+                if (now - lastReport >= REPORT_INTERVAL_MILLIS) {
+                    double perSecond = (movesPlayed - movesAtReport) * 1000.0 / (now - lastReport);
+                    System.out.printf("hry: %d, dohráno: %d, tahů/s: %.0f, p50: %d us, p99: %d us, diváci: %d (odpojeno %d)%n",
+                            games.size(), gamesFinished, perSecond,
+                            moveLatency.percentile(50) / 1000, moveLatency.percentile(99) / 1000,
+                            fanout.getSubscriberCount(), fanout.getDroppedSubscribers());
+                    movesAtReport = movesPlayed;
+                    lastReport = now;
+                }
+            }
+        } finally {
+            fanout.close();
+            dataManager.writeSnapshot();
+            selector.close();
+            Metrics.stop();
+        }
+    }
+
+    public void stop() {
+        running = false;
+        if (selector != null) selector.wakeup();
+    }
+
+    private void accept(ServerSocketChannel server) throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(java.net.StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Connection());
+        }
+    }
+
+    /**
+     * Moves spectator events prepared by delivery threads into socket buffers.
+     * A connection whose socket is not being read keeps events in the outbox
+     * until its sink refuses more and the fan-out drops it.
+     */
+    private void flushOutboxes() {
+        SelectionKey key;
+        while ((key = outboxReady.poll()) != null) {
+            Connection conn = (Connection) key.attachment();
+            conn.outboxScheduled.set(false);
+            if (!key.isValid()) continue;
+            String text;
+            while (conn.out.position() < MAX_OUT_BYTES && (text = conn.outbox.poll()) != null) {
+                conn.outboxSize.decrementAndGet();
+                reply(conn, text.substring(0, text.length() - 1));
+            }
+            if (!conn.outbox.isEmpty() && conn.outboxScheduled.compareAndSet(false, true)) {
+                outboxReady.add(key);
+            }
+            try {
+                write(key);
+            } catch (IOException e) {
+                close(key);
+            }
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection conn = (Connection) key.attachment();
+        int n = channel.read(conn.in);
+        if (n < 0) {
+            close(key);
+            return;
+        }
+        conn.in.flip();
+        while (conn.in.hasRemaining()) {
+            byte b = conn.in.get();
+            if (b == '\n') {
+                String reply;
+                if (conn.lineTooLong) {
+                    // a cut command could mean something else, so it is not run at all
+                    reply = "ERR line too long";
+                } else {
+                    String line = new String(conn.line.array(), 0, conn.line.position(), StandardCharsets.UTF_8);
+                    reply = handleLine(key, conn, line.trim());
+                }
+                conn.line.clear();
+                conn.lineTooLong = false;
+                if (reply != null) reply(conn, reply);
+            } else if (conn.line.hasRemaining()) {
+                conn.line.put(b);
+            } else {
+                conn.lineTooLong = true;
+            }
+        }
+        conn.in.clear();
+        write(key);
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection conn = (Connection) key.attachment();
+        conn.out.flip();
+        channel.write(conn.out);
+        boolean pending = conn.out.hasRemaining();
+        conn.out.compact();
+        if (pending) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } else if (conn.closing) {
+            close(key);
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private void reply(Connection conn, String text) {
+        byte[] bytes = (text + "\n").getBytes(StandardCharsets.UTF_8);
+        if (conn.out.remaining() < bytes.length) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(conn.out.capacity() * 2, conn.out.position() + bytes.length));
+            conn.out.flip();
+            bigger.put(conn.out);
+            conn.out = bigger;
+        }
+        conn.out.put(bytes);
+    }
+
+    private void close(SelectionKey key) {
+        // unfinished games of the client are abandoned, nothing is recorded
+        Connection conn = (Connection) key.attachment();
+        if (conn != null) {
+            for (int id : conn.gameIds) {
+                games.remove(id);
+                fanout.removeGame(id);
+            }
+            conn.gameIds.clear();
+            for (EventFanout.Subscription subscription : conn.subscriptions) {
+                fanout.unsubscribe(subscription);
+            }
+            conn.subscriptions.clear();
+        }
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+
+    /**
+     * Processes one command line and returns the reply.
+     */
+    private String handleLine(SelectionKey key, Connection conn, String line) {
+        if (line.isEmpty()) return null;
+        String[] parts = line.split(" ");
+        switch (parts[0]) {
+            case "NEW":
+                if (parts.length < 3 || parts[1].equals(parts[2])) {
+                    return "ERR usage: NEW white black [size] [flying] [maxcapture]";
+                }
+                if (parts[1].equals(ResultStore.NO_WINNER) || parts[2].equals(ResultStore.NO_WINNER)) {
+                    return "ERR name " + ResultStore.NO_WINNER + " is reserved for draws";
+                }
+                Rules rules = parseRules(parts);
+                if (rules == null) return "ERR options are board size 8 or 10, flying and maxcapture";
+                return newGame(conn, parts[1], parts[2], rules);
+            case "MOVE":
+                if (parts.length != 3) return "ERR usage: MOVE id move";
+                return move(conn, parts[1], parts[2]);
+            case "WATCH":
+                if (parts.length != 2) return "ERR usage: WATCH id|*";
+                return watch(key, conn, parts[1]);
+            case "QUIT":
+                conn.closing = true;
+                return "BYE";
+            default:
+                return "ERR unknown command";
+        }
+    }
+
+    /**
+     * Rule options after the player names, null if some option is unknown.
+     */
+    private Rules parseRules(String[] parts) {
+        BoardGeometry geometry = BoardGeometry.CHECKERS;
+        boolean flying = false;
+        boolean maximumCapture = false;
+        for (int i = 3; i < parts.length; i++) {
+            if (parts[i].equals("flying")) {
+                flying = true;
+            } else if (parts[i].equals("maxcapture")) {
+                maximumCapture = true;
+            } else if (parts[i].equals("8") || parts[i].equals("10")) {
+                geometry = BoardGeometry.of(Integer.parseInt(parts[i]));
+            } else {
+                return null;
+            }
+        }
+        return new Rules(geometry, flying, maximumCapture);
+    }
+
+    private String newGame(Connection conn, String white, String black, Rules rules) {
+        ServerGame game = new ServerGame(nextGameId++);
+        game.model = new GameModel(rules,
+                dataManager.loginPlayer(white), dataManager.loginPlayer(black), dataManager,
+                msg -> { },
+                winner -> game.winner = winner);
+        game.model.setEventListener(game.id, fanout::publish);
+        games.put(game.id, game);
+        conn.gameIds.add(game.id);
+        return "OK " + game.id;
+    }
+
+    private String watch(SelectionKey key, Connection conn, String target) {
+        int gameId;
+        if (target.equals("*")) {
+            gameId = EventFanout.ALL_GAMES;
+        } else {
+            try {
+                gameId = Integer.parseInt(target);
+            } catch (NumberFormatException e) {
+                return "ERR unknown game";
+            }
+            if (!games.containsKey(gameId)) return "ERR unknown game";
+        }
+        conn.subscriptions.add(fanout.subscribe(gameId, new SpectatorSink(key, conn)));
+        return "OK";
+    }
+
+    private String move(Connection conn, String idText, String moveText) {
+        long start = System.nanoTime();
+        ServerGame game;
+        try {
+            game = games.get(Integer.parseInt(idText));
+        } catch (NumberFormatException e) {
+            game = null;
+        }
+        if (game == null || !conn.gameIds.contains(game.id)) return "ERR unknown game";
+
+        Move move = findLegalMove(game.model, moveText);
+        if (move == null) return "ERR illegal move";
+
+        int movesBefore = game.model.getMoveCount();
+        for (int[] click : move.toClicks()) {
+            game.model.handleTileClick(click[0], click[1]);
+        }
+        // the turn has to be finished by the model itself, otherwise the engine and the
+        // click rules disagree about the move and the client must not be told it was played
+        if (game.model.getMoveCount() == movesBefore) return "ERR move not accepted";
+        movesPlayed++;
+        moveLatency.record(System.nanoTime() - start);
+
+        if (game.model.isGameEnded()) {
+            games.remove(game.id);
+            conn.gameIds.remove(game.id);
+            gamesFinished++;
+            return "END " + game.winner;
+        }
+        return "OK";
+    }
+
+    /**
+     * Matches text notation against legal moves, so nothing is applied to the model
+     * unless the whole move is legal.
+     */
+    private Move findLegalMove(GameModel model, String text) {
+        String[] squares = text.split("[-x]");
+        if (squares.length < 2) return null;
+        BoardGeometry geometry = model.getGeometry();
+        int from = geometry.parseSquare(squares[0]);
+        int[] path = new int[squares.length - 1];
+        for (int i = 1; i < squares.length; i++) {
+            path[i - 1] = geometry.parseSquare(squares[i]);
+        }
+        List<Move> legal = MoveGenerator.generate(Position.fromModel(model));
+        for (Move move : legal) {
+            if (move.getFrom() == from && Arrays.equals(move.getPath(), path)) {
+                return move;
+            }
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        String dataDir = "data/";
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--port")) port = Integer.parseInt(args[++i]);
+            else if (args[i].equals("--data")) dataDir = args[++i];
+        }
+        Metrics.start();
+        GameServer server = new GameServer(port, new DataManager(dataDir));
+        Thread mainThread = Thread.currentThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            // let the loop finish and write the last results
+            server.stop();
+            try {
+                mainThread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        server.run();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * HeadToHead
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Index of the games between every pair of players.
+ *
+ * Each pair has one record keyed by the two player ids and listed under both players,
+ * so asking how two players did against each other or listing all opponents of a
+ * player never scans the results. The records are found through an open addressing
+ * table over the packed pair keys, so building the index boxes nothing.
+ * The index is built in one pass over the results at load and then updated with every
+ * new result.
+ */
+public class HeadToHead {
+
+    /**
+     * Games of one pair of players, seen from either of them.
+     */
+    public static class Record {
+        private final PlayerDictionary players;
+        private final int first;
+        private final int second;
+        private int games;
+        private int firstWins;
+        private int secondWins;
+        private long totalMoves;
+        private long totalDurationMillis;
+
+        Record(PlayerDictionary players, int first, int second) {
+            this.players = players;
+            this.first = first;
+            this.second = second;
+        }
+
+        void add(int winner, int totalMoves, long durationMillis) {
+            games++;
+            if (winner == first) {
+                firstWins++;
+            } else if (winner == second) {
+                secondWins++;
+            }
+            this.totalMoves += totalMoves;
+            totalDurationMillis += durationMillis;
+        }
+
+        private boolean isFirst(String player) {
+            return players.find(player) == first;
+        }
+
+        /** The other player of the pair. */
+        public String getOpponent(String player) {
+            return players.name(isFirst(player) ? second : first);
+        }
+
+        public int getGames() { return games; }
+        public int getWins(String player) { return isFirst(player) ? firstWins : secondWins; }
+        public int getLosses(String player) { return isFirst(player) ? secondWins : firstWins; }
+        public int getDraws() { return games - firstWins - secondWins; }
+        public long getTotalMoves() { return totalMoves; }
+        public long getTotalDurationMillis() { return totalDurationMillis; }
+
+        public double getAverageMoves() {
+            return games > 0 ? (double) totalMoves / games : 0;
+        }
+
+        public long getAverageDurationMillis() {
+            return games > 0 ? totalDurationMillis / games : 0;
+        }
+    }
+
+    private final ResultStore store;
+    // open addressing with linear probing, empty slots have a null record
+    private long[] keys = new long[256];
+    private Record[] records = new Record[256];
+    private int pairCount;
+    private final List<List<Record>> byPlayer = new ArrayList<>();
+
+    public HeadToHead(ResultStore store) {
+        this.store = store;
+    }
+
+    public static HeadToHead build(ResultStore store) {
+        HeadToHead index = new HeadToHead(store);
+        for (int i = 0; i < store.size(); i++) {
+            index.add(i);
+        }
+        return index;
+    }
+
+    private static long key(int a, int b) {
+        return a < b ? (long) a << 32 | b : (long) b << 32 | a;
+    }
+
+    /**
+     * Adds the result with the given index in the store.
+     */
+    public void add(int result) {
+        int white = store.getWhite(result);
+        int black = store.getBlack(result);
+        long key = key(white, black);
+        int slot = slot(key);
+        Record record = records[slot];
+        if (record == null) {
+            record = new Record(store.getPlayers(), white, black);
+            keys[slot] = key;
+            records[slot] = record;
+            opponents(white).add(record);
+            // a game against oneself (old data, the loaders allow it) is listed once
+            if (black != white) opponents(black).add(record);
+            if (++pairCount * 2 > records.length) {
+                grow();
+            }
+        }
+        byte winner = store.getWinner(result);
+        record.add(winner == ResultStore.WHITE_WON ? white : winner == ResultStore.BLACK_WON ? black
+                : PlayerDictionary.NONE, store.getMoves(result), store.getDuration(result));
+    }
+
+    /**
+     * Slot of the key, or the empty slot where it belongs.
+     */
+    private int slot(long key) {
+        int mask = records.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (records[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Record[] oldRecords = records;
+        keys = new long[oldKeys.length * 2];
+        records = new Record[oldRecords.length * 2];
+        for (int i = 0; i < oldRecords.length; i++) {
+            if (oldRecords[i] != null) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                records[slot] = oldRecords[i];
+            }
+        }
+    }
+
+    private List<Record> opponents(int player) {
+        while (byPlayer.size() <= player) {
+            byPlayer.add(new ArrayList<>());
+        }
+        return byPlayer.get(player);
+    }
+
+    /**
+     * Games between the two players, null if they never played each other.
+     */
+    public Record get(String player, String opponent) {
+        PlayerDictionary players = store.getPlayers();
+        int a = players.find(player);
+        int b = players.find(opponent);
+        return a != PlayerDictionary.NONE && b != PlayerDictionary.NONE ? records[slot(key(a, b))] : null;
+    }
+
+    /**
+     * Records of all opponents of the player, most games first.
+     */
+    public List<Record> getOpponents(String player) {
+        int id = store.getPlayers().find(player);
+        List<Record> result = id != PlayerDictionary.NONE && id < byPlayer.size()
+                ? new ArrayList<>(byPlayer.get(id)) : new ArrayList<>();
+        result.sort((a, b) -> Integer.compare(b.getGames(), a.getGames()));
+        return result;
+    }
+}
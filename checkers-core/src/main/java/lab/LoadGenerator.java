@@ -0,0 +1,169 @@
+/*
+ * LoadGenerator
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load generator for {@link GameServer}.
+ *
+ * Every connection runs in a virtual thread and plays several games at once:
+ * it sends one random legal move for each of its games, then reads all replies.
+ * At the end moves per second and move latency percentiles are printed.
+ *
+ * Usage: LoadGenerator [--host h] [--port p] [--games n] [--connections c] [--seconds s] [--size 8|10] [--flying] [--max-capture]
+ */
+public class LoadGenerator {
+    private static final int NAME_POOL = 100;
+
+    private final String host;
+    private final int port;
+    private final int games;
+    private final int connections;
+    private final long durationMillis;
+    private final Rules rules;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong moves = new AtomicLong();
+    private final AtomicLong finished = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    public LoadGenerator(String host, int port, int games, int connections, long durationMillis,
+                         Rules rules) {
+        this.host = host;
+        this.port = port;
+        this.games = games;
+        this.connections = Math.min(connections, games);
+        this.durationMillis = durationMillis;
+        this.rules = rules;
+    }
+
+    public void run() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + durationMillis;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            int gamesOnConnection = games / connections + (i < games % connections ? 1 : 0);
+            long seed = i;
+            threads.add(Thread.ofVirtual().start(() -> runConnection(gamesOnConnection, deadline, seed)));
+        }
+        long start = System.currentTimeMillis();
+        for (Thread t : threads) {
+            t.join();
+        }
+        long elapsed = System.currentTimeMillis() - start;
+
+        System.out.printf("hry: %d (%s), spojení: %d, doba: %.1f s%n", games, rules, connections, elapsed / 1000.0);
+        System.out.printf("tahy: %d (%.0f tahů/s), dohrané hry: %d, chyby: %d%n",
+                moves.get(), moves.get() * 1000.0 / elapsed, finished.get(), errors.get());
+        System.out.printf("latence tahu: p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, p99.9 %.2f ms%n",
+                latency.percentile(50) / 1e6, latency.percentile(90) / 1e6,
+                latency.percentile(99) / 1e6, latency.percentile(99.9) / 1e6);
+    }
+
+    private void runConnection(int count, long deadline, long seed) {
+        Random random = new Random(seed);
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+
+            int[] ids = new int[count];
+            Position[] positions = new Position[count];
+            Move[] sent = new Move[count];
+            for (int i = 0; i < count; i++) {
+                newGame(in, out, random, ids, positions, i);
+            }
+
+            while (System.currentTimeMillis() < deadline) {
+                for (int i = 0; i < count; i++) {
+                    List<Move> legal = MoveGenerator.generate(positions[i]);
+                    sent[i] = legal.get(random.nextInt(legal.size()));
+                    out.write("MOVE " + ids[i] + " " + sent[i] + "\n");
+                }
+                out.flush();
+                long batchStart = System.nanoTime();
+
+                List<Integer> restart = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    String reply = in.readLine();
+                    latency.record(System.nanoTime() - batchStart);
+                    if (reply == null) return;
+                    if (reply.startsWith("OK")) {
+                        moves.incrementAndGet();
+                        positions[i] = positions[i].play(sent[i]);
+                    } else if (reply.startsWith("END")) {
+                        moves.incrementAndGet();
+                        finished.incrementAndGet();
+                        restart.add(i);
+                    } else {
+                        errors.incrementAndGet();
+                        restart.add(i);
+                    }
+                }
+                for (int i : restart) {
+                    newGame(in, out, random, ids, positions, i);
+                }
+            }
+            out.write("QUIT\n");
+            out.flush();
+        } catch (IOException e) {
+            errors.incrementAndGet();
+            System.err.println("Spojení selhalo: " + e.getMessage());
+        }
+    }
+
+    private void newGame(BufferedReader in, BufferedWriter out, Random random,
+                         int[] ids, Position[] positions, int index) throws IOException {
+        int white = random.nextInt(NAME_POOL);
+        int black = (white + 1 + random.nextInt(NAME_POOL - 1)) % NAME_POOL;
+        out.write("NEW bot" + white + " bot" + black + " " + rules.getGeometry().getSize()
+                + (rules.isFlyingKings() ? " flying" : "") + (rules.isMaximumCapture() ? " maxcapture" : "") + "\n");
+        out.flush();
+        String reply = in.readLine();
+        if (reply == null || !reply.startsWith("OK ")) {
+            throw new IOException("NEW selhalo: " + reply);
+        }
+        ids[index] = Integer.parseInt(reply.substring(3));
+        positions[index] = Position.initial(rules);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = "localhost";
+        int port = 7777;
+        int games = 1000;
+        int connections = 100;
+        int seconds = 30;
+        int size = 8;
+        boolean flying = false;
+        boolean maximumCapture = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--host": host = args[++i]; break;
+                case "--port": port = Integer.parseInt(args[++i]); break;
+                case "--games": games = Integer.parseInt(args[++i]); break;
+                case "--connections": connections = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Integer.parseInt(args[++i]); break;
+                case "--size": size = Integer.parseInt(args[++i]); break;
+                case "--flying": flying = true; break;
+                case "--max-capture": maximumCapture = true; break;
+                default: break;
+            }
+        }
+        new LoadGenerator(host, port, games, connections, seconds * 1000L, new Rules(BoardGeometry.of(size), flying, maximumCapture)).run();
+    }
+}
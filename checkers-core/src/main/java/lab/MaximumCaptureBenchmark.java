@@ -0,0 +1,227 @@
+/*
+ * MaximumCaptureBenchmark
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Checks and measures the maximum capture rule.
+ *
+ * The capture tree is compared with brute force (all sequences of the unrestricted
+ * generator, keeping the longest) on random positions with men and kings. GameModel
+ * with the rule is then played through random games, where it has to accept every
+ * maximal sequence and refuse the first jump of a shorter one. Finally both ways are
+ * timed on crowded positions with several kings. Exits with status 1 when a check fails.
+ *
+ * Usage: MaximumCaptureBenchmark [--positions n] [--games g] [--seconds s]
+ */
+public class MaximumCaptureBenchmark {
+
+    static List<Move> bruteForce(Position pos) {
+        Position unrestricted = new Position(pos.getRules().withMaximumCapture(false),
+                pos.getWhite(), pos.getBlack(), pos.getKings(), pos.isWhiteToMove());
+        List<Move> all = MoveGenerator.generate(unrestricted);
+        int best = 0;
+        for (Move move : all) {
+            best = Math.max(best, Long.bitCount(move.getCaptured()));
+        }
+        List<Move> result = new ArrayList<>();
+        for (Move move : all) {
+            if (Long.bitCount(move.getCaptured()) == best) {
+                result.add(move);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Random position with given number of pieces per side, a part of them kings.
+     */
+    static Position randomPosition(Rules rules, Random random, int perSide, int kingsPerSide) {
+        BoardGeometry g = rules.getGeometry();
+        long[] sides = new long[2];
+        long kings = 0;
+        long used = 0;
+        for (int side = 0; side < 2; side++) {
+            int placed = 0;
+            while (placed < perSide) {
+                int row = random.nextInt(g.getSize());
+                int col = random.nextInt(g.getSize());
+                if ((row + col) % 2 != 0) continue;
+                long bit = 1L << g.square(row, col);
+                boolean king = placed < kingsPerSide;
+                // a man on its own promotion row would already be a king
+                if ((used & bit) != 0 || (!king && (g.promotionRow(side == 0) & bit) != 0)) continue;
+                sides[side] |= bit;
+                used |= bit;
+                if (king) kings |= bit;
+                placed++;
+            }
+        }
+        return new Position(rules, sides[0], sides[1], kings, random.nextBoolean());
+    }
+
+    /**
+     * Three flying kings against men on every second interior row, a worst case with
+     * tens of thousands of capture sequences.
+     */
+    static Position latticePosition() {
+        BoardGeometry g = BoardGeometry.INTERNATIONAL;
+        long white = (1L << g.square(0, 0)) | (1L << g.square(0, 4)) | (1L << g.square(9, 9));
+        long black = 0;
+        for (int row = 2; row <= 8; row += 2) {
+            for (int col = 1; col < 9; col++) {
+                if ((row + col) % 2 == 0) black |= 1L << g.square(row, col);
+            }
+        }
+        return new Position(Rules.TEN_FLYING_MAXIMUM, white, black & ~white, white, true);
+    }
+
+    private static int compareWithBruteForce(Rules rules, int positions, Random random) {
+        int failures = 0;
+        for (int i = 0; i < positions; i++) {
+            int perSide = 3 + random.nextInt(10);
+            Position pos = randomPosition(rules, random, perSide, random.nextInt(4));
+            Set<Move> tree = new HashSet<>(MoveGenerator.generate(pos));
+            Set<Move> brute = new HashSet<>(bruteForce(pos));
+            if (!tree.equals(brute) && failures++ < 5) {
+                System.out.println("rozdíl " + rules + ": strom " + tree + ", hrubou silou " + brute);
+            }
+        }
+        return failures;
+    }
+
+    private static int compareWithModel(Rules rules, int games, Random random) {
+        DataManager dataManager = new DataManager(System.getProperty("java.io.tmpdir") + "/checkers-bench/");
+        dataManager.setAutoSave(false);
+        int failures = 0;
+        for (int game = 0; game < games && failures == 0; game++) {
+            String[] message = {null};
+            GameModel model = new GameModel(rules, new Player("a"), new Player("b"), dataManager,
+                    msg -> message[0] = msg, winner -> { });
+            Position pos = Position.fromModel(model);
+            while (!model.isGameEnded() && model.getMoveCount() < 300) {
+                List<Move> moves = MoveGenerator.generate(pos);
+                Move shorter = firstJumpNotMaximal(pos, moves);
+                if (shorter != null) {
+                    message[0] = null;
+                    int[][] clicks = shorter.toClicks();
+                    model.handleTileClick(clicks[0][0], clicks[0][1]);
+                    model.handleTileClick(clicks[1][0], clicks[1][1]);
+                    Position after = Position.fromModel(model);
+                    if (message[0] == null || after.getWhite() != pos.getWhite() || after.getBlack() != pos.getBlack()) {
+                        failures++;
+                        System.out.println("GameModel přijal kratší braní " + shorter + " " + rules);
+                        break;
+                    }
+                }
+                Move move = moves.get(random.nextInt(moves.size()));
+                message[0] = null;
+                for (int[] click : move.toClicks()) {
+                    model.handleTileClick(click[0], click[1]);
+                }
+                pos = pos.play(move);
+                Position actual = Position.fromModel(model);
+                boolean rejected = message[0] != null && !message[0].contains("dál");
+                if (rejected || actual.getWhite() != pos.getWhite() || actual.getBlack() != pos.getBlack()
+                        || actual.getKings() != pos.getKings() || actual.isWhiteToMove() != pos.isWhiteToMove()) {
+                    failures++;
+                    System.out.println("GameModel nesouhlasí " + rules + " u tahu " + move + ": " + message[0]);
+                    break;
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Some capture whose first jump does not start any maximal sequence, null if there is none.
+     */
+    private static Move firstJumpNotMaximal(Position pos, List<Move> maximal) {
+        if (maximal.isEmpty() || !maximal.get(0).isCapture()) return null;
+        Position unrestricted = new Position(pos.getRules().withMaximumCapture(false),
+                pos.getWhite(), pos.getBlack(), pos.getKings(), pos.isWhiteToMove());
+        for (Move move : MoveGenerator.generate(unrestricted)) {
+            boolean prefix = false;
+            for (Move m : maximal) {
+                if (m.getFrom() == move.getFrom() && m.getPath()[0] == move.getPath()[0]) {
+                    prefix = true;
+                    break;
+                }
+            }
+            if (!prefix) return move;
+        }
+        return null;
+    }
+
+    private static void time(String label, Position[] positions, double seconds, boolean brute) {
+        long count = 0;
+        long sequences = 0;
+        long start = System.nanoTime();
+        long end = start + (long) (seconds * 1e9);
+        while (System.nanoTime() < end) {
+            for (Position pos : positions) {
+                sequences += (brute ? bruteForce(pos) : MoveGenerator.generate(pos)).size();
+            }
+            count += positions.length;
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-28s %8.1f us na pozici, %.1f maximálních sekvencí%n",
+                label, elapsed * 1e6 / count, (double) sequences / count);
+    }
+
+    public static void main(String[] args) {
+        int positions = 20_000;
+        int games = 300;
+        double seconds = 3;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--positions": positions = Integer.parseInt(args[++i]); break;
+                case "--games": games = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Double.parseDouble(args[++i]); break;
+                default: break;
+            }
+        }
+
+        Random random = new Random(11);
+        Rules[] variants = {
+                new Rules(BoardGeometry.CHECKERS, false, true),
+                new Rules(BoardGeometry.CHECKERS, true, true),
+                new Rules(BoardGeometry.INTERNATIONAL, false, true),
+                Rules.TEN_FLYING_MAXIMUM,
+        };
+        int failures = 0;
+        for (Rules rules : variants) {
+            failures += compareWithBruteForce(rules, positions, random);
+            failures += compareWithModel(rules, games, random);
+        }
+        System.out.println(failures == 0 ? "kontrola v pořádku" : "chyby: " + failures);
+
+        // crowded 10x10 positions with flying kings, where the capture trees are widest
+        Position[] crowded = new Position[200];
+        for (int i = 0; i < crowded.length; i++) {
+            Position pos;
+            do {
+                pos = randomPosition(Rules.TEN_FLYING_MAXIMUM, random, 14, 4);
+            } while (MoveGenerator.jumpers(pos) == 0);
+            crowded[i] = pos;
+        }
+        time("strom braní", crowded, seconds, false);
+        time("hrubou silou", crowded, seconds, true);
+        Position[] lattice = {latticePosition()};
+        time("strom braní, mřížka", lattice, seconds, false);
+        time("hrubou silou, mřížka", lattice, seconds, true);
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Metrics
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Application wide registry of counters and latency histograms.
+ *
+ * Metrics are looked up once and kept in static fields by the code using them,
+ * recording itself then is only an atomic increment without allocation.
+ */
+public final class Metrics {
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static MetricsReporter reporter;
+    private static boolean jmxRegistered = false;
+
+    private Metrics() {
+    }
+
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    public static LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    public static Map<String, Counter> getCounters() {
+        return new TreeMap<>(counters);
+    }
+
+    public static Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    public static void reset() {
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * Registers JMX bean and starts periodic dump if -Dcheckers.metrics.file is set
+     * (.json gives JSON, anything else plain text; interval -Dcheckers.metrics.interval in seconds).
+     */
+    public static synchronized void start() {
+        if (!jmxRegistered) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                server.registerMBean(new MetricsJmx(), new ObjectName("lab:type=Metrics"));
+                jmxRegistered = true;
+            } catch (JMException e) {
+                System.err.println("Metriky nelze registrovat v JMX: " + e.getMessage());
+            }
+        }
+        String file = System.getProperty("checkers.metrics.file");
+        if (file != null && reporter == null) {
+            long interval = Long.getLong("checkers.metrics.interval", 10);
+            reporter = new MetricsReporter(file, interval);
+            reporter.start();
+        }
+    }
+
+    public static synchronized void stop() {
+        if (reporter != null) {
+            reporter.stop();
+            reporter = null;
+        }
+    }
+
+    /**
+     * Plain text snapshot, one metric per line, times in microseconds.
+     */
+    public static String toText() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Counter> e : getCounters().entrySet()) {
+            sb.append(String.format("%-28s %d%n", e.getKey(), e.getValue().get()));
+        }
+        for (Map.Entry<String, LatencyHistogram> e : getHistograms().entrySet()) {
+            LatencyHistogram h = e.getValue();
+            sb.append(String.format("%-28s count=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus%n",
+                    e.getKey(), h.getCount(), h.getMean() / 1000, h.percentile(50) / 1000.0,
+                    h.percentile(99) / 1000.0, h.getMax() / 1000.0));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * JSON snapshot, times in nanoseconds.
+     */
+    public static String toJson() {
+        StringBuilder sb = new StringBuilder("{\"timestamp\":").append(System.currentTimeMillis());
+        sb.append(",\"counters\":{");
+        boolean first = true;
+        for (Map.Entry<String, Counter> e : getCounters().entrySet()) {
+            if (!first) sb.append(',');
+            first = false;
+            sb.append('"').append(e.getKey()).append("\":").append(e.getValue().get());
+        }
+        sb.append("},\"histograms\":{");
+        first = true;
+        for (Map.Entry<String, LatencyHistogram> e : getHistograms().entrySet()) {
+            if (!first) sb.append(',');
+            first = false;
+            LatencyHistogram h = e.getValue();
+            sb.append('"').append(e.getKey()).append("\":{")
+                    .append("\"count\":").append(h.getCount())
+                    .append(",\"meanNs\":").append(Math.round(h.getMean()))
+                    .append(",\"p50Ns\":").append(h.percentile(50))
+                    .append(",\"p99Ns\":").append(h.percentile(99))
+                    .append(",\"maxNs\":").append(h.getMax())
+                    .append('}');
+        }
+        return sb.append("}}").toString();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * MetricsJmx
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+
+/**
+ * Exposes {@link Metrics} in JMX (JConsole, Mission Control).
+ * Every counter is one attribute, every histogram gives attributes name.count, .p50Us, .p99Us and .maxUs.
+ * Attribute list is built when it is read, so metrics created later show up too.
+ */
+public class MetricsJmx implements DynamicMBean {
+    private static final String[] HISTOGRAM_FIELDS = {"count", "p50Us", "p99Us", "maxUs"};
+
+    @Override
+    public Object getAttribute(String name) throws AttributeNotFoundException {
+        Counter counter = Metrics.getCounters().get(name);
+        if (counter != null) {
+            return counter.get();
+        }
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            LatencyHistogram h = Metrics.getHistograms().get(name.substring(0, dot));
+            if (h != null) {
+                switch (name.substring(dot + 1)) {
+                    case "count": return h.getCount();
+                    case "p50Us": return h.percentile(50) / 1000.0;
+                    case "p99Us": return h.percentile(99) / 1000.0;
+                    case "maxUs": return h.getMax() / 1000.0;
+                    default: break;
+                }
+            }
+        }
+        throw new AttributeNotFoundException(name);
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        AttributeList list = new AttributeList();
+        for (String name : names) {
+            try {
+                list.add(new Attribute(name, getAttribute(name)));
+            } catch (AttributeNotFoundException e) {
+                // skipped as the JMX contract allows
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metriky jsou jen pro čtení: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        switch (actionName) {
+            case "reset":
+                Metrics.reset();
+                return null;
+            case "dumpText":
+                return Metrics.toText();
+            case "dumpJson":
+                return Metrics.toJson();
+            default:
+                throw new UnsupportedOperationException(actionName);
+        }
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (String name : Metrics.getCounters().keySet()) {
+            attributes.add(new MBeanAttributeInfo(name, "long", "Čítač " + name, true, false, false));
+        }
+        for (Map.Entry<String, LatencyHistogram> e : Metrics.getHistograms().entrySet()) {
+            for (String field : HISTOGRAM_FIELDS) {
+                String type = field.equals("count") ? "long" : "double";
+                attributes.add(new MBeanAttributeInfo(e.getKey() + "." + field, type,
+                        "Latence " + e.getKey(), true, false, false));
+            }
+        }
+        MBeanOperationInfo[] operations = {
+                new MBeanOperationInfo("reset", "Vynuluje metriky", new MBeanParameterInfo[0], "void", MBeanOperationInfo.ACTION),
+                new MBeanOperationInfo("dumpText", "Výpis v textu", new MBeanParameterInfo[0], "java.lang.String", MBeanOperationInfo.INFO),
+                new MBeanOperationInfo("dumpJson", "Výpis v JSON", new MBeanParameterInfo[0], "java.lang.String", MBeanOperationInfo.INFO)
+        };
+        return new MBeanInfo(getClass().getName(), "Metriky hry Checkers",
+                attributes.toArray(new MBeanAttributeInfo[0]), null, operations, null);
+    }
+}
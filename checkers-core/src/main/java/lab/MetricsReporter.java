@@ -0,0 +1,65 @@
+/*
+ * MetricsReporter
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes metrics snapshot to a local file.
+ * The file is replaced atomically, so a reader never sees half written content.
+ */
+public class MetricsReporter {
+    private final File file;
+    private final long intervalSeconds;
+    private final boolean json;
+    private ScheduledExecutorService scheduler;
+
+    public MetricsReporter(String path, long intervalSeconds) {
+        this.file = new File(path);
+        this.intervalSeconds = Math.max(1, intervalSeconds);
+        this.json = path.endsWith(".json");
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::write, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        write();
+    }
+
+    private void write() {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (PrintWriter writer = new PrintWriter(tmp, "UTF-8")) {
+            writer.println(json ? Metrics.toJson() : Metrics.toText());
+        } catch (IOException e) {
+            System.err.println("Chyba při zápisu metrik: " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Chyba při zápisu metrik: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Move
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.Arrays;
+
+/**
+ * Complete move of one piece used by the engine.
+ * Squares are bit indexes of {@link BoardGeometry}, a capture sequence has one landing square per jump.
+ */
+public class Move {
+    private final BoardGeometry geometry;
+    private final int from;
+    private final int[] path;
+    private final long captured;
+
+    public Move(BoardGeometry geometry, int from, int[] path, long captured) {
+        this.geometry = geometry;
+        this.from = from;
+        this.path = path;
+        this.captured = captured;
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return path[path.length - 1];
+    }
+
+    /**
+     * Landing squares in order, one for simple move, more for multi jump.
+     */
+    public int[] getPath() {
+        return path;
+    }
+
+    public long getCaptured() {
+        return captured;
+    }
+
+    public boolean isCapture() {
+        return captured != 0;
+    }
+
+    /**
+     * Board clicks (row, col) needed to play this move through GameModel.handleTileClick.
+     */
+    public int[][] toClicks() {
+        int[][] clicks = new int[path.length + 1][];
+        clicks[0] = new int[]{geometry.row(from), geometry.col(from)};
+        for (int i = 0; i < path.length; i++) {
+            clicks[i + 1] = new int[]{geometry.row(path[i]), geometry.col(path[i])};
+        }
+        return clicks;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Move)) return false;
+        Move other = (Move) o;
+        return geometry == other.geometry && from == other.from && captured == other.captured && Arrays.equals(path, other.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * from + Arrays.hashCode(path)) + Long.hashCode(captured);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(geometry.squareName(from));
+        for (int sq : path) {
+            sb.append(isCapture() ? 'x' : '-').append(geometry.squareName(sq));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * MoveGenerator
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates legal moves of a {@link Position} with the same rules as GameModel:
+ * men move and capture forward only, kings one square in all directions,
+ * capturing is mandatory and a jump sequence ends when a man is promoted.
+ * Works on any {@link BoardGeometry}, all set operations are shifts of the whole board.
+ * With flying kings the kings use the ray tables of the geometry instead,
+ * with maximum capture the sequences come from {@link CaptureTree}.
+ */
+public final class MoveGenerator {
+    private static final int[] WHITE_DIRS = {0, 1};
+    private static final int[] BLACK_DIRS = {2, 3};
+    private static final int[] KING_DIRS = {0, 1, 2, 3};
+
+    private MoveGenerator() {
+    }
+
+    public static List<Move> generate(Position pos) {
+        List<Move> moves = new ArrayList<>();
+        generateCaptures(pos, moves);
+        if (moves.isEmpty()) {
+            generateQuiet(pos, moves);
+        }
+        return moves;
+    }
+
+    public static boolean hasMoves(Position pos) {
+        return canMove(pos, pos.isWhiteToMove());
+    }
+
+    /**
+     * Checks with shifts only whether given side has any move, regardless of who is to move.
+     * Holds for flying kings too: a king that cannot step anywhere has all neighbours occupied,
+     * so its only possible capture is the short one.
+     */
+    public static boolean canMove(Position pos, boolean white) {
+        BoardGeometry g = pos.getGeometry();
+        long own = white ? pos.getWhite() : pos.getBlack();
+        long opp = white ? pos.getBlack() : pos.getWhite();
+        long empty = pos.getEmpty();
+        long men = own & ~pos.getKings();
+        long kings = own & pos.getKings();
+        for (int d = 0; d < 4; d++) {
+            long movers = kings | (isForward(white, d) ? men : 0);
+            long step = g.shift(movers, d);
+            if ((step & empty) != 0 || (g.shift(step & opp, d) & empty) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Game end as decided by GameModel.checkGameEnd: the game is over as soon as
+     * either side cannot move (no pieces included), white is checked first.
+     * Returns 1 if white won, -1 if black won and 0 if the game goes on.
+     */
+    public static int outcome(Position pos) {
+        if (!canMove(pos, true)) return -1;
+        if (!canMove(pos, false)) return 1;
+        return 0;
+    }
+
+    /**
+     * Pieces of side to move that can capture something, found with shifts over whole board.
+     */
+    public static long jumpers(Position pos) {
+        BoardGeometry g = pos.getGeometry();
+        boolean flying = pos.getRules().isFlyingKings();
+        long own = pos.getOwn();
+        long opp = pos.getOpponent();
+        long empty = pos.getEmpty();
+        long men = own & ~pos.getKings();
+        long kings = own & pos.getKings();
+        long result = flying ? flyingJumpers(g, kings, opp, empty) : 0;
+        long steppingKings = flying ? 0 : kings;
+        for (int d = 0; d < 4; d++) {
+            long movers = steppingKings | (isForward(pos.isWhiteToMove(), d) ? men : 0);
+            // land squares reachable over an opponent, shifted back to the start square
+            long land = g.shift(g.shift(movers, d) & opp, d) & empty;
+            result |= g.shift(g.shift(land, opposite(d)), opposite(d));
+        }
+        return result;
+    }
+
+    /**
+     * Kings which can capture at distance: the first piece on some ray is an opponent
+     * and the square right behind it is empty.
+     */
+    private static long flyingJumpers(BoardGeometry g, long kings, long opp, long empty) {
+        long occupied = g.getValid() & ~empty;
+        long result = 0;
+        while (kings != 0) {
+            int square = Long.numberOfTrailingZeros(kings);
+            kings &= kings - 1;
+            for (int d = 0; d < 4; d++) {
+                int blocker = g.firstBlocker(d, square, occupied);
+                if (blocker < 0 || (opp & (1L << blocker)) == 0) continue;
+                int land = g.neighbor(d, blocker);
+                if (land >= 0 && (empty & (1L << land)) != 0) {
+                    result |= 1L << square;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void generateQuiet(Position pos, List<Move> moves) {
+        BoardGeometry g = pos.getGeometry();
+        long own = pos.getOwn();
+        long empty = pos.getEmpty();
+        long men = own & ~pos.getKings();
+        long kings = own & pos.getKings();
+        if (pos.getRules().isFlyingKings()) {
+            generateSlides(g, kings, g.getValid() & ~empty, moves);
+            kings = 0;
+        }
+        for (int d = 0; d < 4; d++) {
+            long movers = kings | (isForward(pos.isWhiteToMove(), d) ? men : 0);
+            long targets = g.shift(movers, d) & empty;
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                moves.add(new Move(g, to - g.delta(d), new int[]{to}, 0));
+            }
+        }
+    }
+
+    private static void generateSlides(BoardGeometry g, long kings, long occupied, List<Move> moves) {
+        while (kings != 0) {
+            int from = Long.numberOfTrailingZeros(kings);
+            kings &= kings - 1;
+            for (int d = 0; d < 4; d++) {
+                long targets = g.slide(d, from, occupied);
+                while (targets != 0) {
+                    int to = Long.numberOfTrailingZeros(targets);
+                    targets &= targets - 1;
+                    moves.add(new Move(g, from, new int[]{to}, 0));
+                }
+            }
+        }
+    }
+
+    private static void generateCaptures(Position pos, List<Move> moves) {
+        long jumpers = jumpers(pos);
+        if (jumpers == 0) {
+            return;
+        }
+        if (pos.getRules().isMaximumCapture()) {
+            CaptureTree.collectMaximal(pos, jumpers, moves);
+            return;
+        }
+        int[] path = new int[32];
+        while (jumpers != 0) {
+            int from = Long.numberOfTrailingZeros(jumpers);
+            jumpers &= jumpers - 1;
+            boolean king = (pos.getKings() & (1L << from)) != 0;
+            long empty = pos.getEmpty() | (1L << from);
+            collectJumps(pos, from, from, king, pos.getOpponent(), empty, path, 0, 0, moves);
+        }
+    }
+
+    private static void collectJumps(Position pos, int from, int square, boolean king, long opp, long empty,
+                                     int[] path, int depth, long captured, List<Move> moves) {
+        BoardGeometry g = pos.getGeometry();
+        if (king && pos.getRules().isFlyingKings()) {
+            collectFlyingJumps(pos, from, square, opp, empty, path, depth, captured, moves);
+            return;
+        }
+        int[] dirs = king ? KING_DIRS : (pos.isWhiteToMove() ? WHITE_DIRS : BLACK_DIRS);
+        boolean extended = false;
+        for (int d : dirs) {
+            int mid = g.neighbor(d, square);
+            if (mid < 0 || (opp & (1L << mid)) == 0) continue;
+            int land = g.neighbor(d, mid);
+            if (land < 0 || (empty & (1L << land)) == 0) continue;
+
+            extended = true;
+            path[depth] = land;
+            long midBit = 1L << mid;
+            // captured piece is removed immediately, as in GameModel
+            long nextEmpty = (empty | midBit | (1L << square)) & ~(1L << land);
+            boolean promotes = !king && (g.promotionRow(pos.isWhiteToMove()) & (1L << land)) != 0;
+            if (promotes) {
+                moves.add(new Move(g, from, copy(path, depth + 1), captured | midBit));
+            } else {
+                collectJumps(pos, from, land, king, opp & ~midBit, nextEmpty, path, depth + 1,
+                        captured | midBit, moves);
+            }
+        }
+        if (!extended && depth > 0) {
+            moves.add(new Move(g, from, copy(path, depth), captured));
+        }
+    }
+
+    /**
+     * Capture sequences of a flying king: the first piece on a ray has to be an opponent
+     * and every empty square behind it up to the next piece is a possible landing.
+     */
+    private static void collectFlyingJumps(Position pos, int from, int square, long opp, long empty,
+                                           int[] path, int depth, long captured, List<Move> moves) {
+        BoardGeometry g = pos.getGeometry();
+        long occupied = g.getValid() & ~empty;
+        boolean extended = false;
+        for (int d = 0; d < 4; d++) {
+            int mid = g.firstBlocker(d, square, occupied);
+            if (mid < 0 || (opp & (1L << mid)) == 0) continue;
+            long landings = g.slide(d, mid, occupied);
+            long midBit = 1L << mid;
+            while (landings != 0) {
+                int land = Long.numberOfTrailingZeros(landings);
+                landings &= landings - 1;
+                extended = true;
+                path[depth] = land;
+                long nextEmpty = (empty | midBit | (1L << square)) & ~(1L << land);
+                collectFlyingJumps(pos, from, land, opp & ~midBit, nextEmpty, path, depth + 1,
+                        captured | midBit, moves);
+            }
+        }
+        if (!extended && depth > 0) {
+            moves.add(new Move(g, from, copy(path, depth), captured));
+        }
+    }
+
+    private static int[] copy(int[] path, int length) {
+        int[] result = new int[length];
+        System.arraycopy(path, 0, result, 0, length);
+        return result;
+    }
+
+    private static boolean isForward(boolean white, int direction) {
+        return white ? direction < 2 : direction >= 2;
+    }
+
+    private static int opposite(int direction) {
+        return 3 - direction;
+    }
+}
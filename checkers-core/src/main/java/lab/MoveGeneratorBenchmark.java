@@ -0,0 +1,59 @@
+/*
+ * MoveGeneratorBenchmark
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+/**
+ * Compares move generation speed of 8x8 and 10x10 boards.
+ *
+ * Counts leaf positions of the game tree from the starting position (perft), which
+ * exercises generate, play and the capture search the same way the engine does.
+ *
+ * Usage: MoveGeneratorBenchmark [--depth d] [--rounds r]
+ */
+public class MoveGeneratorBenchmark {
+
+    static long perft(Position pos, int depth) {
+        if (depth == 0) return 1;
+        long count = 0;
+        for (Move move : MoveGenerator.generate(pos)) {
+            count += perft(pos.play(move), depth - 1);
+        }
+        return count;
+    }
+
+    private static void run(Rules rules, int depth, int rounds) {
+        Position start = Position.initial(rules);
+        long nodes = 0;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long t0 = System.nanoTime();
+            nodes = perft(start, depth);
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        System.out.printf("%s perft(%d) = %d, nejlepší čas %.1f ms, %.1f M pozic/s%n",
+                rules.getGeometry(), depth, nodes, best / 1e6, nodes * 1e3 / best);
+    }
+
+    public static void main(String[] args) {
+        int depth = 8;
+        int rounds = 5;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--depth": depth = Integer.parseInt(args[++i]); break;
+                case "--rounds": rounds = Integer.parseInt(args[++i]); break;
+                default: break;
+            }
+        }
+        // warm up both geometries, so neither profile wins only because of JIT order
+        run(Rules.CHECKERS, Math.min(depth, 6), 2);
+        run(Rules.TEN_FLYING_MAXIMUM, Math.min(depth, 6), 2);
+
+        run(Rules.CHECKERS, depth, rounds);
+        run(Rules.TEN_FLYING_MAXIMUM, depth, rounds);
+    }
+}
@@ -1,13 +1,12 @@
 /*
  * Piece
  *
- * Version 1.1
+ * Version 1.2
  *
  * 2025 Checkers Project
  */
 package lab;
 
-import javafx.scene.image.Image;
 import java.io.Serializable;
 
 /**
@@ -23,8 +22,8 @@ public class Piece extends GameObject implements Serializable {
     private boolean isQueen;
     private final PieceColor color;
 
-    public Piece(Image image, int row, int col, PieceColor color) {
-        super(image, row, col);
+    public Piece(int row, int col, PieceColor color) {
+        super(row, col);
         this.color = color;
     }
 
@@ -39,9 +38,4 @@ public class Piece extends GameObject implements Serializable {
     public PieceColor getColor() {
         return color;
     }
-
-    @Override
-    public void draw(javafx.scene.canvas.GraphicsContext gc, int squareSize) {
-        super.draw(gc, squareSize);
-    }
 }
\ No newline at end of file
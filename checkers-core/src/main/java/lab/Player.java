@@ -18,6 +18,7 @@ public class Player implements Serializable {
     private String name;
     private int gamesPlayed;
     private int gamesWon;
+    private int gamesDrawn;
     private int totalMoves;
     private long totalTimeMillis;
 
@@ -25,6 +26,7 @@ public class Player implements Serializable {
         this.name = name;
         this.gamesPlayed = 0;
         this.gamesWon = 0;
+        this.gamesDrawn = 0;
         this.totalMoves = 0;
         this.totalTimeMillis = 0;
     }
@@ -37,8 +39,13 @@ public class Player implements Serializable {
      * Sets stats when loading from CSV file.
      */
     public void setStats(int gamesPlayed, int gamesWon, int totalMoves, long totalTimeMillis) {
+        setStats(gamesPlayed, gamesWon, 0, totalMoves, totalTimeMillis);
+    }
+
+    public void setStats(int gamesPlayed, int gamesWon, int gamesDrawn, int totalMoves, long totalTimeMillis) {
         this.gamesPlayed = gamesPlayed;
         this.gamesWon = gamesWon;
+        this.gamesDrawn = gamesDrawn;
         this.totalMoves = totalMoves;
         this.totalTimeMillis = totalTimeMillis;
     }
@@ -47,9 +54,15 @@ public class Player implements Serializable {
      * Records a game result.
      */
     public void addGameResult(boolean won, int moves, long timeMillis) {
+        addGameResult(won, false, moves, timeMillis);
+    }
+
+    public void addGameResult(boolean won, boolean drawn, int moves, long timeMillis) {
         gamesPlayed++;
         if (won) {
             gamesWon++;
+        } else if (drawn) {
+            gamesDrawn++;
         }
         totalMoves += moves;
         totalTimeMillis += timeMillis;
@@ -63,6 +76,14 @@ public class Player implements Serializable {
         return gamesWon;
     }
 
+    public int getGamesDrawn() {
+        return gamesDrawn;
+    }
+
+    public int getGamesLost() {
+        return gamesPlayed - gamesWon - gamesDrawn;
+    }
+
     public double getWinRate() {
         return gamesPlayed > 0 ? (double) gamesWon / gamesPlayed * 100 : 0;
     }
@@ -81,7 +102,7 @@ public class Player implements Serializable {
 
     @Override
     public String toString() {
-        return String.format("%s - Hry: %d, Vyhry: %d (%.1f%%), Prumer tahu: %.1f",
-                name, gamesPlayed, gamesWon, getWinRate(), getAverageMoves());
+        return String.format("%s - Hry: %d, Vyhry: %d (%.1f%%), Remizy: %d, Prumer tahu: %.1f",
+                name, gamesPlayed, gamesWon, getWinRate(), gamesDrawn, getAverageMoves());
     }
 }
\ No newline at end of file
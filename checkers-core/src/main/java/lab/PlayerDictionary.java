@@ -0,0 +1,68 @@
+/*
+ * PlayerDictionary
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dense int ids of player names.
+ *
+ * Ids are given out from 0 in order of first use and never change, so per-player data
+ * can live in plain arrays indexed by the id and results can refer to players by id
+ * instead of holding their names.
+ */
+public class PlayerDictionary {
+    public static final int NONE = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] names = new String[16];
+    private int size;
+
+    /**
+     * Id of the player, a new one if the name was not seen yet.
+     */
+    public int id(String name) {
+        Integer id = ids.get(name);
+        if (id != null) return id;
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+        names[size] = name;
+        ids.put(name, size);
+        return size++;
+    }
+
+    /**
+     * Id of the player or {@link #NONE} if the name was not seen yet.
+     */
+    public int find(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : NONE;
+    }
+
+    public String name(int id) {
+        return names[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Independent copy with the same ids, for reading on another thread.
+     */
+    public PlayerDictionary copy() {
+        PlayerDictionary copy = new PlayerDictionary();
+        copy.ids.putAll(ids);
+        copy.names = Arrays.copyOf(names, names.length);
+        copy.size = size;
+        return copy;
+    }
+}
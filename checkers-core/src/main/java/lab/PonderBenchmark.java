@@ -0,0 +1,119 @@
+/*
+ * PonderBenchmark
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures how pondering cuts the response time of the computer.
+ *
+ * The engine plays games against a simulated human, another search thinking for a fixed
+ * time. The response time is counted from the human's move to the engine's answer, the
+ * same way the player sees it. Every game is played once with and once without
+ * pondering, the first few moves are random so the games differ.
+ *
+ * Usage: PonderBenchmark [--games g] [--moves m] [--budget ms] [--think ms] [--size 10]
+ */
+public class PonderBenchmark {
+
+    private static final class Stats {
+        final List<Long> responses = new ArrayList<>();
+        long depths;
+        int hits;
+        int engineMoves;
+
+        void print(String label) {
+            Collections.sort(responses);
+            double mean = responses.stream().mapToLong(Long::longValue).average().orElse(0);
+            System.out.printf("%-16s odezva průměr %.0f ms, medián %d ms, p90 %d ms, hloubka %.1f, zásahy %d/%d%n",
+                    label, mean, percentile(50), percentile(90), (double) depths / Math.max(1, engineMoves),
+                    hits, engineMoves);
+        }
+
+        private long percentile(int p) {
+            if (responses.isEmpty()) return 0;
+            return responses.get(Math.min(responses.size() - 1, responses.size() * p / 100));
+        }
+    }
+
+    private static void play(Rules rules, long seed, int moves, long budget, long think, boolean pondering,
+                             ExecutorService ponderThread, Stats stats) {
+        TranspositionTable table = new TranspositionTable(1 << 20);
+        EvalWeights weights = EvalWeights.getDefault();
+        Ponderer ponderer = new Ponderer(table, weights, ponderThread);
+        Random random = new Random(seed);
+        Position pos = Position.initial(rules);
+        // the engine plays black, which moves first
+        for (int ply = 0; ply < moves && MoveGenerator.outcome(pos) == 0; ply++) {
+            Move move;
+            if (ply < 4) {
+                List<Move> legal = MoveGenerator.generate(pos);
+                move = legal.get(random.nextInt(legal.size()));
+            } else if (!pos.isWhiteToMove()) {
+                long t0 = System.nanoTime();
+                Ponderer.Session session = ponderer.resolve(pos, budget);
+                SearchResult result = session != null
+                        ? session.getResult().join()
+                        : new Search(new AtomicBoolean(), weights, table).search(pos, 30, budget);
+                stats.responses.add((System.nanoTime() - t0) / 1_000_000);
+                stats.depths += result.getDepth();
+                stats.engineMoves++;
+                if (session != null) stats.hits++;
+                move = result.getBestMove();
+            } else {
+                move = new Search(new AtomicBoolean()).search(pos, 30, think).getBestMove();
+            }
+            pos = pos.play(move);
+            if (pondering && pos.isWhiteToMove() && ply >= 3) {
+                ponderer.start(pos, 30);
+            }
+        }
+        ponderer.stop();
+    }
+
+    public static void main(String[] args) {
+        int games = 3;
+        int moves = 40;
+        long budget = 300;
+        long think = 500;
+        int size = 8;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--games": games = Integer.parseInt(args[++i]); break;
+                case "--moves": moves = Integer.parseInt(args[++i]); break;
+                case "--budget": budget = Long.parseLong(args[++i]); break;
+                case "--think": think = Long.parseLong(args[++i]); break;
+                case "--size": size = Integer.parseInt(args[++i]); break;
+                default: break;
+            }
+        }
+        Rules rules = size == 10 ? Rules.TEN_FLYING_MAXIMUM : Rules.CHECKERS;
+        ExecutorService ponderThread = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "engine-ponder");
+            t.setDaemon(true);
+            return t;
+        });
+
+        Stats without = new Stats();
+        Stats with = new Stats();
+        for (int game = 0; game < games; game++) {
+            play(rules, game, moves, budget, think, false, ponderThread, without);
+            play(rules, game, moves, budget, think, true, ponderThread, with);
+        }
+        System.out.printf("%s, limit %d ms, člověk přemýšlí %d ms%n", rules, budget, think);
+        without.print("bez přemýšlení");
+        with.print("s přemýšlením");
+        ponderThread.shutdownNow();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Ponderer
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Searches during the opponent's turn.
+ *
+ * After the engine moved, the reply it expects is taken from the transposition table
+ * and the position after that reply is searched without a time limit. When the opponent
+ * really plays it, the running search just gets its time limit (a ponder hit) and usually
+ * answers at once. Otherwise the search is stopped; its table entries stay, so the work
+ * is not wasted entirely and discarding it costs nothing.
+ */
+public final class Ponderer {
+    private static final Counter HITS = Metrics.counter("engine.ponderHits");
+    private static final Counter MISSES = Metrics.counter("engine.ponderMisses");
+
+    private final TranspositionTable table;
+    private final EvalWeights weights;
+    private final Executor executor;
+    private Session current;
+
+    /**
+     * A running ponder search.
+     */
+    public static final class Session {
+        private final Position expected;
+        private final AtomicBoolean stop;
+        private final Search search;
+        private final CompletableFuture<SearchResult> result;
+
+        private Session(Position expected, AtomicBoolean stop, Search search, CompletableFuture<SearchResult> result) {
+            this.expected = expected;
+            this.stop = stop;
+            this.search = search;
+            this.result = result;
+        }
+
+        public Position getExpected() {
+            return expected;
+        }
+
+        public AtomicBoolean getStop() {
+            return stop;
+        }
+
+        public CompletableFuture<SearchResult> getResult() {
+            return result;
+        }
+    }
+
+    public Ponderer(TranspositionTable table, EvalWeights weights, Executor executor) {
+        this.table = table;
+        this.weights = weights;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts pondering when the table knows the expected reply in the given position,
+     * where the opponent is to move. Returns false when there is nothing to ponder.
+     */
+    public synchronized boolean start(Position opponentToMove, int maxDepth) {
+        stop();
+        Move reply = table.bestMove(opponentToMove);
+        if (reply == null) return false;
+        Position expected = opponentToMove.play(reply);
+        if (MoveGenerator.outcome(expected) != 0) return false;
+
+        AtomicBoolean stop = new AtomicBoolean();
+        Search search = new Search(stop, weights, table);
+        CompletableFuture<SearchResult> result = new CompletableFuture<>();
+        Session session = new Session(expected, stop, search, result);
+        executor.execute(() -> {
+            try {
+                result.complete(search.ponder(expected, maxDepth));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        current = session;
+        return true;
+    }
+
+    /**
+     * Decides the ponder search for the position the engine has to move in now.
+     * On a hit returns the session, whose search continues with the given time limit;
+     * on a miss stops the search and returns null.
+     */
+    public synchronized Session resolve(Position actual, long timeLimitMillis) {
+        Session session = current;
+        current = null;
+        if (session == null) return null;
+        if (session.expected.equals(actual)) {
+            HITS.increment();
+            session.search.ponderHit(timeLimitMillis);
+            return session;
+        }
+        MISSES.increment();
+        session.stop.set(true);
+        return null;
+    }
+
+    /**
+     * Stops the ponder search, if any.
+     */
+    public synchronized void stop() {
+        if (current != null) {
+            current.stop.set(true);
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Position
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+/**
+ * Compact immutable game position for the engine.
+ *
+ * Playable squares are stored as bits of a long laid out by {@link BoardGeometry},
+ * so the same code handles 8x8 and 10x10 boards. The position also knows its
+ * {@link Rules}, so move generation needs nothing else. Its {@link Zobrist} hash is
+ * updated incrementally by {@link #play}. Positions are equal when pieces and side to
+ * move are, the rules are not compared.
+ */
+public class Position {
+    private final Rules rules;
+    private final BoardGeometry geometry;
+    private final long white;
+    private final long black;
+    private final long kings;
+    private final boolean whiteToMove;
+    private final long hash;
+
+    public Position(Rules rules, long white, long black, long kings, boolean whiteToMove) {
+        this(rules, white, black, kings, whiteToMove, Zobrist.hash(white, black, kings, whiteToMove));
+    }
+
+    private Position(Rules rules, long white, long black, long kings, boolean whiteToMove, long hash) {
+        this.rules = rules;
+        this.geometry = rules.getGeometry();
+        this.white = white;
+        this.black = black;
+        this.kings = kings;
+        this.whiteToMove = whiteToMove;
+        this.hash = hash;
+    }
+
+    /**
+     * Snapshot of the current model state.
+     */
+    public static Position fromModel(GameModel model) {
+        Rules rules = model.getRules();
+        BoardGeometry geometry = rules.getGeometry();
+        long white = 0;
+        long black = 0;
+        long kings = 0;
+        for (Piece p : model.getPieces()) {
+            long bit = 1L << geometry.square(p.getRow(), p.getCol());
+            if (p.getColor() == Piece.PieceColor.WHITE) {
+                white |= bit;
+            } else {
+                black |= bit;
+            }
+            if (p.isQueen()) {
+                kings |= bit;
+            }
+        }
+        return new Position(rules, white, black, kings, model.isWhiteTurn());
+    }
+
+    /**
+     * Starting position of the 8x8 board as set up by GameModel, black moves first.
+     */
+    public static Position initial() {
+        return initial(Rules.CHECKERS);
+    }
+
+    public static Position initial(Rules rules) {
+        BoardGeometry geometry = rules.getGeometry();
+        return new Position(rules, geometry.startingPieces(true), geometry.startingPieces(false), 0, false);
+    }
+
+    /**
+     * Parses a FEN-style position like "B:Wa1,c1,Ke5:Bb8,d8": side to move, then white and
+     * black pieces as square names, kings marked with K. Throws IllegalArgumentException
+     * for text which is not a valid position of the given rules.
+     */
+    public static Position fromFen(Rules rules, String fen) {
+        BoardGeometry geometry = rules.getGeometry();
+        String[] parts = fen.trim().split(":");
+        if (parts.length != 3 || !(parts[0].equals("W") || parts[0].equals("B"))) {
+            throw new IllegalArgumentException("Neplatná pozice: " + fen);
+        }
+        long[] sides = new long[2];
+        // a side field can be empty, so a repeated one is told by the flag, not by its pieces
+        boolean[] seen = new boolean[2];
+        long kings = 0;
+        for (int i = 1; i < 3; i++) {
+            String field = parts[i];
+            int side = field.startsWith("W") ? 0 : field.startsWith("B") ? 1 : -1;
+            if (side < 0 || seen[side]) {
+                throw new IllegalArgumentException("Neplatná pozice: " + fen);
+            }
+            seen[side] = true;
+            for (String token : field.substring(1).split(",")) {
+                token = token.trim();
+                if (token.isEmpty()) continue;
+                boolean king = token.startsWith("K");
+                int square = geometry.parseSquare(king ? token.substring(1) : token);
+                if (square < 0 || ((sides[0] | sides[1]) & (1L << square)) != 0) {
+                    throw new IllegalArgumentException("Neplatné pole " + token + " v pozici " + fen);
+                }
+                // a man reaching its last row is crowned at once, it can never stand there
+                if (!king && (geometry.promotionRow(side == 0) & (1L << square)) != 0) {
+                    throw new IllegalArgumentException("Kámen na poli proměny " + token + " v pozici " + fen);
+                }
+                sides[side] |= 1L << square;
+                if (king) kings |= 1L << square;
+            }
+        }
+        return new Position(rules, sides[0], sides[1], kings, parts[0].equals("W"));
+    }
+
+    public String toFen() {
+        StringBuilder sb = new StringBuilder(whiteToMove ? "W" : "B");
+        appendFen(sb.append(":W"), white);
+        appendFen(sb.append(":B"), black);
+        return sb.toString();
+    }
+
+    private void appendFen(StringBuilder sb, long pieces) {
+        boolean first = true;
+        for (long bits = pieces; bits != 0; bits &= bits - 1) {
+            int square = Long.numberOfTrailingZeros(bits);
+            if (!first) sb.append(',');
+            first = false;
+            if ((kings & (1L << square)) != 0) sb.append('K');
+            sb.append(geometry.squareName(square));
+        }
+    }
+
+    /**
+     * Returns new position after the move, side to move is switched.
+     */
+    public Position play(Move move) {
+        long fromBit = 1L << move.getFrom();
+        long toBit = 1L << move.getTo();
+        long own = whiteToMove ? white : black;
+        long opp = whiteToMove ? black : white;
+        boolean wasKing = (kings & fromBit) != 0;
+
+        own = (own & ~fromBit) | toBit;
+        opp &= ~move.getCaptured();
+        long newKings = kings & ~fromBit & ~move.getCaptured();
+        boolean isKing = wasKing || (toBit & geometry.promotionRow(whiteToMove)) != 0;
+        if (isKing) {
+            newKings |= toBit;
+        }
+
+        long newHash = hash ^ Zobrist.whiteToMove()
+                ^ Zobrist.piece(Zobrist.kind(whiteToMove, wasKing), move.getFrom())
+                ^ Zobrist.piece(Zobrist.kind(whiteToMove, isKing), move.getTo());
+        for (long bits = move.getCaptured(); bits != 0; bits &= bits - 1) {
+            int sq = Long.numberOfTrailingZeros(bits);
+            newHash ^= Zobrist.piece(Zobrist.kind(!whiteToMove, (kings & (1L << sq)) != 0), sq);
+        }
+
+        return whiteToMove
+                ? new Position(rules, own, opp, newKings, false, newHash)
+                : new Position(rules, opp, own, newKings, true, newHash);
+    }
+
+    public Rules getRules() { return rules; }
+    public BoardGeometry getGeometry() { return geometry; }
+
+    public long getWhite() { return white; }
+    public long getBlack() { return black; }
+    public long getKings() { return kings; }
+    public long getEmpty() { return geometry.getValid() & ~(white | black); }
+    public long getOwn() { return whiteToMove ? white : black; }
+    public long getOpponent() { return whiteToMove ? black : white; }
+    public boolean isWhiteToMove() { return whiteToMove; }
+    public long getHash() { return hash; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Position)) return false;
+        Position other = (Position) o;
+        return white == other.white && black == other.black && kings == other.kings
+                && whiteToMove == other.whiteToMove;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+}
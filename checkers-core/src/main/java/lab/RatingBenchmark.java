@@ -0,0 +1,116 @@
+/*
+ * RatingBenchmark
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.Random;
+
+/**
+ * Checks and measures the rating engine.
+ *
+ * Games between players of known hidden strength are generated at random. First the
+ * incremental update (one {@link Ratings#record} per result) is compared with the full
+ * recompute over the same results, they must give the same ratings. Then the recompute
+ * over primitive arrays is timed on the large history and the ratings are checked to
+ * order the players by their hidden strength. Exits with status 1 when a check fails.
+ *
+ * Usage: RatingBenchmark [--players p] [--games g]
+ */
+public class RatingBenchmark {
+
+    private static byte play(double whiteStrength, double blackStrength, Random random) {
+        double whiteWins = 1 / (1 + Math.pow(10, (blackStrength - whiteStrength) / 400));
+        double roll = random.nextDouble();
+        if (roll < 0.1) return ResultStore.DRAW;
+        return roll < 0.1 + 0.9 * whiteWins ? ResultStore.WHITE_WON : ResultStore.BLACK_WON;
+    }
+
+    private static String winner(byte outcome, String white, String black) {
+        return outcome == ResultStore.WHITE_WON ? white : outcome == ResultStore.BLACK_WON ? black : ResultStore.NO_WINNER;
+    }
+
+    public static void main(String[] args) {
+        int playerCount = 1000;
+        int gameCount = 2_000_000;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--players": playerCount = Integer.parseInt(args[++i]); break;
+                case "--games": gameCount = Integer.parseInt(args[++i]); break;
+                default: break;
+            }
+        }
+        Random random = new Random(1);
+        double[] strength = new double[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            strength[i] = 1500 + 300 * random.nextGaussian();
+        }
+
+        // incremental and recompute have to agree
+        PlayerDictionary dictionary = new PlayerDictionary();
+        ResultStore results = new ResultStore(dictionary);
+        Ratings incremental = new Ratings(dictionary);
+        for (int i = 0; i < 20_000; i++) {
+            int w = random.nextInt(playerCount);
+            int b = (w + 1 + random.nextInt(playerCount - 1)) % playerCount;
+            byte outcome = play(strength[w], strength[b], random);
+            GameResult result = new GameResult("p" + w, "p" + b, winner(outcome, "p" + w, "p" + b), 40, 60_000);
+            int index = results.add(result);
+            incremental.record(results.getWhite(index), results.getBlack(index), results.getWinner(index));
+        }
+        Ratings recomputed = Ratings.recompute(results);
+        int failures = 0;
+        for (int i = 0; i < playerCount; i++) {
+            String name = "p" + i;
+            if (incremental.getElo(name) != recomputed.getElo(name)
+                    || incremental.getGlicko(name) != recomputed.getGlicko(name)
+                    || incremental.getEloHistory(name).length != incremental.getGames(name)) {
+                failures++;
+            }
+        }
+        System.out.printf("přírůstkově proti přepočtu: %d rozdílů%n", failures);
+
+        // full recompute of a large history
+        int[] white = new int[gameCount];
+        int[] black = new int[gameCount];
+        byte[] outcome = new byte[gameCount];
+        for (int i = 0; i < gameCount; i++) {
+            white[i] = random.nextInt(playerCount);
+            black[i] = (white[i] + 1 + random.nextInt(playerCount - 1)) % playerCount;
+            outcome[i] = play(strength[white[i]], strength[black[i]], random);
+        }
+        for (int round = 0; round < 3; round++) {
+            PlayerDictionary players = new PlayerDictionary();
+            for (int i = 0; i < playerCount; i++) {
+                players.id("p" + i);
+            }
+            Ratings ratings = new Ratings(players);
+            long start = System.nanoTime();
+            ratings.replay(white, black, outcome, gameCount);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            // pairs of players ordered the same way by the rating and the hidden strength
+            int agree = 0;
+            int pairs = 0;
+            for (int i = 0; i < 10_000; i++) {
+                int a = random.nextInt(playerCount);
+                int b = random.nextInt(playerCount);
+                if (a == b || Math.abs(strength[a] - strength[b]) < 100) continue;
+                pairs++;
+                if ((strength[a] > strength[b]) == (ratings.getElo("p" + a) > ratings.getElo("p" + b))
+                        && (strength[a] > strength[b]) == (ratings.getGlicko("p" + a) > ratings.getGlicko("p" + b))) {
+                    agree++;
+                }
+            }
+            System.out.printf("přepočet %d her, %d hráčů: %.2f s (%.1f mil. her/s), správné pořadí %.1f %%%n",
+                    gameCount, playerCount, seconds, gameCount / seconds / 1e6, 100.0 * agree / pairs);
+            if (agree < pairs * 0.9) failures++;
+        }
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Ratings
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.Arrays;
+
+/**
+ * Elo and Glicko-2 ratings of all players, updated game by game.
+ *
+ * All rating state lives in primitive arrays indexed by the player id of a
+ * {@link PlayerDictionary}, so a result updates both players in constant time.
+ * Glicko-2 is used with a rating period of one game. The history keeps one entry per
+ * player and game (both ratings after the game) in parallel arrays, the entries of one
+ * player are chained from the newest one backwards.
+ */
+public class Ratings {
+    public static final double START_RATING = 1500;
+    public static final double ELO_K = 32;
+    public static final double START_DEVIATION = 350;
+    public static final double START_VOLATILITY = 0.06;
+    // system constant of Glicko-2, limits how fast volatility changes
+    private static final double TAU = 0.5;
+    private static final double GLICKO_SCALE = 173.7178;
+    private static final double EPSILON = 0.000001;
+
+    private final PlayerDictionary players;
+    private int playerCount;
+
+    private double[] elo = new double[16];
+    private double[] mu = new double[16];
+    private double[] phi = new double[16];
+    private double[] sigma = new double[16];
+    private int[] games = new int[16];
+    private int[] lastEntry = new int[16];
+
+    private float[] historyElo = new float[64];
+    private float[] historyGlicko = new float[64];
+    private int[] historyPrevious = new int[64];
+    private int historySize;
+
+    public Ratings(PlayerDictionary players) {
+        this.players = players;
+    }
+
+    /**
+     * Ratings computed from scratch by replaying all results of the store in time order.
+     */
+    public static Ratings recompute(ResultStore store) {
+        Ratings ratings = new Ratings(store.getPlayers());
+        int n = store.size();
+        ratings.ensurePlayers(store.getPlayers().size());
+        ratings.ensureHistory(2 * n);
+        for (int i = 0; i < n; i++) {
+            ratings.update(store.getWhite(i), store.getBlack(i), store.getWinner(i) * 0.5);
+        }
+        return ratings;
+    }
+
+    /**
+     * Applies the first count games given by player ids and {@link ResultStore} winner flags.
+     */
+    public void replay(int[] white, int[] black, byte[] winner, int count) {
+        ensurePlayers(players.size());
+        ensureHistory(historySize + 2 * count);
+        for (int i = 0; i < count; i++) {
+            update(white[i], black[i], winner[i] * 0.5);
+        }
+    }
+
+    /**
+     * Updates both players of a finished game.
+     */
+    public void record(int white, int black, byte winner) {
+        ensurePlayers(Math.max(white, black) + 1);
+        ensureHistory(historySize + 2);
+        update(white, black, winner * 0.5);
+    }
+
+    private void ensurePlayers(int count) {
+        if (count > elo.length) {
+            int capacity = Math.max(count, elo.length * 2);
+            elo = Arrays.copyOf(elo, capacity);
+            mu = Arrays.copyOf(mu, capacity);
+            phi = Arrays.copyOf(phi, capacity);
+            sigma = Arrays.copyOf(sigma, capacity);
+            games = Arrays.copyOf(games, capacity);
+            lastEntry = Arrays.copyOf(lastEntry, capacity);
+        }
+        for (; playerCount < count; playerCount++) {
+            elo[playerCount] = START_RATING;
+            mu[playerCount] = 0;
+            phi[playerCount] = START_DEVIATION / GLICKO_SCALE;
+            sigma[playerCount] = START_VOLATILITY;
+            lastEntry[playerCount] = -1;
+        }
+    }
+
+    private void ensureHistory(int capacity) {
+        if (capacity <= historyElo.length) return;
+        int size = Math.max(capacity, historyElo.length * 2);
+        historyElo = Arrays.copyOf(historyElo, size);
+        historyGlicko = Arrays.copyOf(historyGlicko, size);
+        historyPrevious = Arrays.copyOf(historyPrevious, size);
+    }
+
+    private void update(int white, int black, double score) {
+        double expected = 1 / (1 + Math.pow(10, (elo[black] - elo[white]) / 400));
+        double change = ELO_K * (score - expected);
+        elo[white] += change;
+        elo[black] -= change;
+
+        // both updates have to see the ratings from before the game
+        double whiteMu = mu[white];
+        double whitePhi = phi[white];
+        glicko(white, mu[black], phi[black], score);
+        glicko(black, whiteMu, whitePhi, 1 - score);
+
+        games[white]++;
+        games[black]++;
+        addHistory(white);
+        addHistory(black);
+    }
+
+    /**
+     * One Glicko-2 rating period with a single game against the given opponent.
+     */
+    private void glicko(int player, double opponentMu, double opponentPhi, double score) {
+        double g = 1 / Math.sqrt(1 + 3 * opponentPhi * opponentPhi / (Math.PI * Math.PI));
+        double e = 1 / (1 + Math.exp(-g * (mu[player] - opponentMu)));
+        double v = 1 / (g * g * e * (1 - e));
+        double delta = v * g * (score - e);
+
+        double p = phi[player];
+        double newSigma = volatility(p, sigma[player], v, delta);
+        double preRating = Math.sqrt(p * p + newSigma * newSigma);
+        double newPhi = 1 / Math.sqrt(1 / (preRating * preRating) + 1 / v);
+        mu[player] += newPhi * newPhi * g * (score - e);
+        phi[player] = newPhi;
+        sigma[player] = newSigma;
+    }
+
+    /**
+     * New volatility, the root of the Glicko-2 function found by the Illinois method.
+     */
+    private static double volatility(double phi, double sigma, double v, double delta) {
+        double a = Math.log(sigma * sigma);
+        double phi2 = phi * phi;
+        double delta2 = delta * delta;
+        double first = a;
+        double second;
+        if (delta2 > phi2 + v) {
+            second = Math.log(delta2 - phi2 - v);
+        } else {
+            int k = 1;
+            while (volatilityFunction(a - k * TAU, a, phi2, v, delta2) < 0) {
+                k++;
+            }
+            second = a - k * TAU;
+        }
+        double fFirst = volatilityFunction(first, a, phi2, v, delta2);
+        double fSecond = volatilityFunction(second, a, phi2, v, delta2);
+        while (Math.abs(second - first) > EPSILON) {
+            double c = first + (first - second) * fFirst / (fSecond - fFirst);
+            double fc = volatilityFunction(c, a, phi2, v, delta2);
+            if (fc * fSecond <= 0) {
+                first = second;
+                fFirst = fSecond;
+            } else {
+                fFirst /= 2;
+            }
+            second = c;
+            fSecond = fc;
+        }
+        return Math.exp(first / 2);
+    }
+
+    private static double volatilityFunction(double x, double a, double phi2, double v, double delta2) {
+        double ex = Math.exp(x);
+        double denominator = phi2 + v + ex;
+        return ex * (delta2 - phi2 - v - ex) / (2 * denominator * denominator) - (x - a) / (TAU * TAU);
+    }
+
+    private void addHistory(int player) {
+        int entry = historySize++;
+        historyElo[entry] = (float) elo[player];
+        historyGlicko[entry] = (float) getGlicko(player);
+        historyPrevious[entry] = lastEntry[player];
+        lastEntry[player] = entry;
+    }
+
+    private double getGlicko(int player) {
+        return mu[player] * GLICKO_SCALE + START_RATING;
+    }
+
+    // ids of players without a rated game yet have no state here
+    private int find(String name) {
+        int id = players.find(name);
+        return id < playerCount ? id : PlayerDictionary.NONE;
+    }
+
+    public double getElo(String name) {
+        int id = find(name);
+        return id != PlayerDictionary.NONE ? elo[id] : START_RATING;
+    }
+
+    public double getGlicko(String name) {
+        int id = find(name);
+        return id != PlayerDictionary.NONE ? getGlicko(id) : START_RATING;
+    }
+
+    /**
+     * Glicko-2 rating deviation, the second the more certain the rating is.
+     */
+    public double getGlickoDeviation(String name) {
+        int id = find(name);
+        return id != PlayerDictionary.NONE ? phi[id] * GLICKO_SCALE : START_DEVIATION;
+    }
+
+    public int getGames(String name) {
+        int id = find(name);
+        return id != PlayerDictionary.NONE ? games[id] : 0;
+    }
+
+    /**
+     * Elo after each game of the player, oldest first.
+     */
+    public float[] getEloHistory(String name) {
+        return history(name, historyElo);
+    }
+
+    /**
+     * Glicko-2 rating after each game of the player, oldest first.
+     */
+    public float[] getGlickoHistory(String name) {
+        return history(name, historyGlicko);
+    }
+
+    private float[] history(String name, float[] values) {
+        int id = find(name);
+        if (id == PlayerDictionary.NONE) return new float[0];
+        float[] result = new float[games[id]];
+        int i = result.length;
+        for (int entry = lastEntry[id]; entry >= 0; entry = historyPrevious[entry]) {
+            result[--i] = values[entry];
+        }
+        return result;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * ResultStore
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * All game results in parallel primitive arrays, ordered by time.
+ *
+ * Players are stored as ids of a {@link PlayerDictionary} and the winner as the side
+ * which won, so a result takes a few dozen bytes with no objects of its own and scans
+ * over all results only read arrays. {@link GameResult} objects are made on demand for
+ * the callers which need them.
+ *
+ * Results read from files written before times were recorded have {@link #UNKNOWN_TIME}.
+ * They are kept first and belong to no time range. A result older than the newest one is
+ * inserted by shifting the newer ones, which is linear; results normally come in time
+ * order and are appended.
+ */
+public class ResultStore {
+    /** Winner flags, the flag times 0.5 is the score of white. */
+    public static final byte BLACK_WON = 0;
+    public static final byte DRAW = 1;
+    public static final byte WHITE_WON = 2;
+    /** Winner name of a drawn game in results and files, no player may use it as a name. */
+    public static final String NO_WINNER = "-";
+    /** Time of a result whose time was never recorded. */
+    public static final long UNKNOWN_TIME = 0;
+
+    private final PlayerDictionary players;
+    private int[] white = new int[64];
+    private int[] black = new int[64];
+    private byte[] winner = new byte[64];
+    private int[] moves = new int[64];
+    private long[] duration = new long[64];
+    private long[] time = new long[64];
+    private int size;
+
+    public ResultStore(PlayerDictionary players) {
+        this.players = players;
+    }
+
+    /**
+     * Store over arrays filled elsewhere, the first size entries are the results in time order.
+     */
+    ResultStore(PlayerDictionary players, int[] white, int[] black, byte[] winner, int[] moves,
+                long[] duration, long[] time, int size) {
+        this.players = players;
+        int capacity = Math.max(64, size);
+        this.white = Arrays.copyOf(white, capacity);
+        this.black = Arrays.copyOf(black, capacity);
+        this.winner = Arrays.copyOf(winner, capacity);
+        this.moves = Arrays.copyOf(moves, capacity);
+        this.duration = Arrays.copyOf(duration, capacity);
+        this.time = Arrays.copyOf(time, capacity);
+        this.size = size;
+    }
+
+    public static byte winnerOf(GameResult result) {
+        if (result.getWinner().equals(result.getWhitePlayerName())) return WHITE_WON;
+        if (result.getWinner().equals(result.getBlackPlayerName())) return BLACK_WON;
+        return DRAW;
+    }
+
+    public int add(GameResult result) {
+        return add(players.id(result.getWhitePlayerName()), players.id(result.getBlackPlayerName()),
+                winnerOf(result), result.getTotalMoves(), result.getGameDurationMillis(), result.getTimestampMillis());
+    }
+
+    /**
+     * Adds a result after all results of the same or older time and returns its index.
+     */
+    public int add(int whiteId, int blackId, byte winnerSide, int totalMoves, long durationMillis, long timestampMillis) {
+        if (size == time.length) {
+            int capacity = size * 2;
+            white = Arrays.copyOf(white, capacity);
+            black = Arrays.copyOf(black, capacity);
+            winner = Arrays.copyOf(winner, capacity);
+            moves = Arrays.copyOf(moves, capacity);
+            duration = Arrays.copyOf(duration, capacity);
+            time = Arrays.copyOf(time, capacity);
+        }
+        int at = size;
+        if (size > 0 && time[size - 1] > timestampMillis) {
+            at = firstAfter(timestampMillis);
+            int tail = size - at;
+            System.arraycopy(white, at, white, at + 1, tail);
+            System.arraycopy(black, at, black, at + 1, tail);
+            System.arraycopy(winner, at, winner, at + 1, tail);
+            System.arraycopy(moves, at, moves, at + 1, tail);
+            System.arraycopy(duration, at, duration, at + 1, tail);
+            System.arraycopy(time, at, time, at + 1, tail);
+        }
+        white[at] = whiteId;
+        black[at] = blackId;
+        winner[at] = winnerSide;
+        moves[at] = totalMoves;
+        duration[at] = durationMillis;
+        time[at] = timestampMillis;
+        size++;
+        return at;
+    }
+
+    public int size() { return size; }
+    public int getWhite(int index) { return white[index]; }
+    public int getBlack(int index) { return black[index]; }
+    public byte getWinner(int index) { return winner[index]; }
+    public int getMoves(int index) { return moves[index]; }
+    public long getDuration(int index) { return duration[index]; }
+    public long getTime(int index) { return time[index]; }
+
+    // backing arrays for bulk copies, valid up to size()
+    int[] whiteIds() { return white; }
+    int[] blackIds() { return black; }
+    byte[] winners() { return winner; }
+    int[] moveCounts() { return moves; }
+    long[] durations() { return duration; }
+    long[] times() { return time; }
+
+    public PlayerDictionary getPlayers() {
+        return players;
+    }
+
+    /**
+     * The result as an object, with player names from the dictionary.
+     */
+    public GameResult get(int index) {
+        String whiteName = players.name(white[index]);
+        String blackName = players.name(black[index]);
+        String winnerName = winner[index] == WHITE_WON ? whiteName
+                : winner[index] == BLACK_WON ? blackName : NO_WINNER;
+        return new GameResult(whiteName, blackName, winnerName, moves[index], duration[index], time[index]);
+    }
+
+    /**
+     * Results from index (inclusive) to index (exclusive) as objects.
+     */
+    public List<GameResult> get(int from, int to) {
+        List<GameResult> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            result.add(get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Independent copy of the results and their player names, for writing them out
+     * on another thread while this store keeps changing.
+     */
+    public ResultStore copy() {
+        return new ResultStore(players.copy(), white, black, winner, moves, duration, time, size);
+    }
+
+    /**
+     * Read-only view of all results which creates a result object only when it is asked
+     * for, so a table showing a few rows never holds the whole history as objects.
+     * The view follows the store, its size grows as results are added.
+     */
+    public List<GameResult> asList() {
+        return new AbstractList<>() {
+            @Override
+            public GameResult get(int index) {
+                if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+                return ResultStore.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Index of the first result at or after the time. Results of unknown time are never
+     * at or after any time, so a range found with this method leaves them out.
+     */
+    public int firstAtOrAfter(long timestampMillis) {
+        timestampMillis = Math.max(timestampMillis, UNKNOWN_TIME + 1);
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (time[mid] < timestampMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstAfter(long timestampMillis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (time[mid] <= timestampMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
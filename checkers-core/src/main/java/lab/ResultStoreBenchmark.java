@@ -0,0 +1,120 @@
+/*
+ * ResultStoreBenchmark
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures memory and scan speed of results as objects and as primitive records.
+ *
+ * The same random results are held once as a list of {@link GameResult} objects with
+ * names split from CSV lines (as they used to be loaded) and once in a
+ * {@link ResultStore}. The heap taken by each is measured after a full collection and
+ * the wins of every player are counted by scanning each of them. Exits with status 1
+ * when the two scans disagree.
+ *
+ * Usage: ResultStoreBenchmark [--results n] [--players p]
+ */
+public class ResultStoreBenchmark {
+    // keeps the measured structure reachable while the heap is measured
+    static volatile Object sink;
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String line(Random random, int players, long time) {
+        String white = "hrac" + random.nextInt(players);
+        String black = "hrac" + random.nextInt(players);
+        String winner = random.nextBoolean() ? white : black;
+        return white + "," + black + "," + winner + "," + (20 + random.nextInt(60)) + ","
+                + random.nextInt(600_000) + "," + time;
+    }
+
+    public static void main(String[] args) {
+        int count = 1_000_000;
+        int playerCount = 1000;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--results": count = Integer.parseInt(args[++i]); break;
+                case "--players": playerCount = Integer.parseInt(args[++i]); break;
+                default: break;
+            }
+        }
+
+        long before = usedHeap();
+        List<GameResult> objects = new ArrayList<>();
+        Random random = new Random(1);
+        for (int i = 0; i < count; i++) {
+            String[] parts = line(random, playerCount, 1_700_000_000_000L + i * 1000L).split(",");
+            objects.add(new GameResult(parts[0], parts[1], parts[2], Integer.parseInt(parts[3]),
+                    Long.parseLong(parts[4]), Long.parseLong(parts[5])));
+        }
+        sink = objects;
+        long objectBytes = usedHeap() - before;
+
+        before = usedHeap();
+        PlayerDictionary dictionary = new PlayerDictionary();
+        ResultStore store = new ResultStore(dictionary);
+        random = new Random(1);
+        for (int i = 0; i < count; i++) {
+            String[] parts = line(random, playerCount, 1_700_000_000_000L + i * 1000L).split(",");
+            byte side = parts[2].equals(parts[0]) ? ResultStore.WHITE_WON
+                    : parts[2].equals(parts[1]) ? ResultStore.BLACK_WON : ResultStore.DRAW;
+            store.add(dictionary.id(parts[0]), dictionary.id(parts[1]), side, Integer.parseInt(parts[3]),
+                    Long.parseLong(parts[4]), Long.parseLong(parts[5]));
+        }
+        sink = store;
+        long storeBytes = usedHeap() - before;
+        System.out.printf("%d výsledků: objekty %.0f B/výsledek, pole %.0f B/výsledek (%.1fx méně)%n",
+                count, (double) objectBytes / count, (double) storeBytes / count, (double) objectBytes / storeBytes);
+
+        int failures = 0;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            Map<String, Integer> winsByName = new HashMap<>();
+            for (GameResult result : objects) {
+                if (result.getWinner().equals(result.getWhitePlayerName())) {
+                    winsByName.merge(result.getWhitePlayerName(), 1, Integer::sum);
+                } else if (result.getWinner().equals(result.getBlackPlayerName())) {
+                    winsByName.merge(result.getBlackPlayerName(), 1, Integer::sum);
+                }
+            }
+            long objectNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int[] wins = new int[dictionary.size()];
+            for (int i = 0; i < store.size(); i++) {
+                byte side = store.getWinner(i);
+                if (side == ResultStore.WHITE_WON) {
+                    wins[store.getWhite(i)]++;
+                } else if (side == ResultStore.BLACK_WON) {
+                    wins[store.getBlack(i)]++;
+                }
+            }
+            long storeNanos = System.nanoTime() - start;
+
+            for (int id = 0; id < wins.length; id++) {
+                if (wins[id] != winsByName.getOrDefault(dictionary.name(id), 0)) failures++;
+            }
+            System.out.printf("výhry hráčů: objekty %.1f ms, pole %.1f ms%n", objectNanos / 1e6, storeNanos / 1e6);
+        }
+        if (failures > 0) {
+            System.out.println("CHYBA: " + failures + " rozdílů");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * ResultTimeIndex
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * Game times of every player, for queries over a time range.
+ *
+ * The results themselves are ordered by time in the {@link ResultStore}, so the
+ * results of any time range are found by two binary searches there. Every player also
+ * has a sorted series of their game times with running counts of their wins, indexed by
+ * the player id, so counting their games or wins in a range is a binary search too.
+ * Results normally come in time order and are appended; an older one is inserted by
+ * shifting the newer times of its players, which is linear in their game count.
+ * Results of {@link ResultStore#UNKNOWN_TIME} are indexed but fall in no time range.
+ */
+public class ResultTimeIndex {
+    public static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    /**
+     * Game times of one player with the number of wins before each game.
+     */
+    private static final class Series {
+        long[] times = new long[8];
+        // wins[i] = wins in the first i games
+        int[] wins = new int[9];
+        int size;
+
+        void insert(long time, boolean won) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                wins = Arrays.copyOf(wins, size * 2 + 1);
+            }
+            int at = upperBound(times, size, time);
+            int win = won ? 1 : 0;
+            System.arraycopy(times, at, times, at + 1, size - at);
+            times[at] = time;
+            for (int i = size; i >= at; i--) {
+                wins[i + 1] = wins[i] + win;
+            }
+            size++;
+        }
+    }
+
+    private final ResultStore store;
+    private Series[] byPlayer = new Series[16];
+
+    public ResultTimeIndex(ResultStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Index of all results of the store.
+     */
+    public static ResultTimeIndex build(ResultStore store) {
+        ResultTimeIndex index = new ResultTimeIndex(store);
+        for (int i = 0; i < store.size(); i++) {
+            index.add(i);
+        }
+        return index;
+    }
+
+    /**
+     * Adds the result with the given index in the store.
+     */
+    public void add(int result) {
+        long time = store.getTime(result);
+        byte winner = store.getWinner(result);
+        series(store.getWhite(result)).insert(time, winner == ResultStore.WHITE_WON);
+        series(store.getBlack(result)).insert(time, winner == ResultStore.BLACK_WON);
+    }
+
+    private Series series(int player) {
+        if (player >= byPlayer.length) {
+            byPlayer = Arrays.copyOf(byPlayer, Math.max(player + 1, byPlayer.length * 2));
+        }
+        if (byPlayer[player] == null) {
+            byPlayer[player] = new Series();
+        }
+        return byPlayer[player];
+    }
+
+    private Series find(String player) {
+        int id = store.getPlayers().find(player);
+        return id != PlayerDictionary.NONE && id < byPlayer.length ? byPlayer[id] : null;
+    }
+
+    /**
+     * Number of results from (inclusive) to (exclusive).
+     */
+    public int countBetween(long from, long to) {
+        return Math.max(0, store.firstAtOrAfter(to) - store.firstAtOrAfter(from));
+    }
+
+    public int getGames(String player, long from, long to) {
+        Series s = find(player);
+        if (s == null) return 0;
+        return Math.max(0, lowerBound(s.times, s.size, known(to)) - lowerBound(s.times, s.size, known(from)));
+    }
+
+    public int getWins(String player, long from, long to) {
+        Series s = find(player);
+        if (s == null) return 0;
+        int first = lowerBound(s.times, s.size, known(from));
+        int end = lowerBound(s.times, s.size, known(to));
+        return end > first ? s.wins[end] - s.wins[first] : 0;
+    }
+
+    /**
+     * Win rate in percent over the games of the player in the window ending at the given time.
+     */
+    public double getWinRate(String player, long windowMillis, long end) {
+        int games = getGames(player, end - windowMillis, end);
+        return games > 0 ? 100.0 * getWins(player, end - windowMillis, end) / games : 0;
+    }
+
+    /**
+     * Games of the player on each of the days starting with the given one.
+     */
+    public int[] getDailyGames(String player, LocalDate first, int days, ZoneId zone) {
+        int[] result = new int[days];
+        long dayStart = first.atStartOfDay(zone).toInstant().toEpochMilli();
+        for (int i = 0; i < days; i++) {
+            long next = first.plusDays(i + 1).atStartOfDay(zone).toInstant().toEpochMilli();
+            result[i] = getGames(player, dayStart, next);
+            dayStart = next;
+        }
+        return result;
+    }
+
+    // range bound which leaves out the results of unknown time
+    private static long known(long time) {
+        return Math.max(time, ResultStore.UNKNOWN_TIME + 1);
+    }
+
+    private static int lowerBound(long[] values, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(long[] values, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Rules
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+/**
+ * Rule variant of a game: board geometry and optional rules.
+ *
+ * Without options the rules are the original ones of GameModel: kings move one square,
+ * any capture sequence may be chosen, captured pieces are removed immediately and
+ * a jump sequence ends with promotion.
+ */
+public final class Rules {
+    public static final Rules CHECKERS = new Rules(BoardGeometry.CHECKERS, false, false);
+    /**
+     * 10x10 board with flying kings and maximum capture. This is not the international
+     * rule set: men still capture only forward and captured pieces are removed during
+     * the sequence, not at its end.
+     */
+    public static final Rules TEN_FLYING_MAXIMUM = new Rules(BoardGeometry.INTERNATIONAL, true, true);
+
+    private final BoardGeometry geometry;
+    private final boolean flyingKings;
+    private final boolean maximumCapture;
+
+    public Rules(BoardGeometry geometry, boolean flyingKings, boolean maximumCapture) {
+        this.geometry = geometry;
+        this.flyingKings = flyingKings;
+        this.maximumCapture = maximumCapture;
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Kings slide over any number of empty squares and capture at distance,
+     * landing on any empty square behind the captured piece.
+     */
+    public boolean isFlyingKings() {
+        return flyingKings;
+    }
+
+    /**
+     * Only capture sequences taking the most pieces are legal.
+     */
+    public boolean isMaximumCapture() {
+        return maximumCapture;
+    }
+
+    public Rules withFlyingKings(boolean flying) {
+        return new Rules(geometry, flying, maximumCapture);
+    }
+
+    public Rules withMaximumCapture(boolean maximum) {
+        return new Rules(geometry, flyingKings, maximum);
+    }
+
+    @Override
+    public String toString() {
+        return geometry + (flyingKings ? ", létající dámy" : "") + (maximumCapture ? ", braní nejvíce" : "");
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * RulesFuzzer
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Differential fuzzer of the rules: the list based {@link GameModel} against the
+ * bitboard {@link MoveGenerator}.
+ *
+ * Random games are played with the engine in parallel and every position is set up in
+ * a model too, where both implementations have to agree on
+ * <ul>
+ *   <li>which pieces can capture ({@code hasCaptureFrom}),</li>
+ *   <li>every single jump and the piece it takes ({@code getCapturedPieceIfAny}),</li>
+ *   <li>every simple move when there is no capture ({@code isValidSimpleMove}),</li>
+ *   <li>the position after each legal move played by clicks, promotion included,</li>
+ *   <li>the end of the game and the winner after it ({@code checkGameEnd}),</li>
+ *   <li>rejecting capture sequences which are not maximal under maximum capture.</li>
+ * </ul>
+ * A position where they differ is shrunk by removing pieces and crowning kings back to
+ * men while the same kind of difference remains, and the minimal position is appended to
+ * the fixture file as {@code rules;fen;difference}. The fixtures are checked first on
+ * every run, so a fixed difference which comes back is reported as a regression. Exits
+ * with status 1 when any difference was found.
+ *
+ * Usage: RulesFuzzer [--games n] [--seconds s] [--threads t] [--seed s] [--fixtures file] [--size 8|10 [--flying] [--max-capture]]
+ */
+public class RulesFuzzer {
+    private static final int MAX_PLIES = 200;
+    private static final int REPORTED_FAILURES = 10;
+    private static final String CONTINUE_JUMP = "Musíš skákat dál!";
+
+    private final List<Rules> variants;
+    private final Path fixtures;
+    // results of the games played on models are not kept
+    private final DataManager dataManager;
+    private final AtomicLong nextGame = new AtomicLong();
+    private final AtomicLong games = new AtomicLong();
+    private final AtomicLong positions = new AtomicLong();
+    private final AtomicLong movesPlayed = new AtomicLong();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final Set<String> known = Collections.synchronizedSet(new HashSet<>());
+
+    public RulesFuzzer(List<Rules> variants, Path fixtures) throws IOException {
+        this.variants = variants;
+        this.fixtures = fixtures;
+        Path dataDir = Files.createTempDirectory("rulesfuzzer");
+        dataDir.toFile().deleteOnExit();
+        this.dataManager = new DataManager(dataDir.toString()) {
+            @Override
+            public void addGameResult(GameResult result) {
+            }
+        };
+    }
+
+    /**
+     * Compares the model with the engine in the position, returns the first difference
+     * as "kind: details" or null when they agree.
+     */
+    String check(Position pos) {
+        try {
+            return compare(pos);
+        } catch (Throwable e) {
+            return "výjimka: " + e + " v " + pos.toFen();
+        }
+    }
+
+    private String compare(Position pos) {
+        Rules rules = pos.getRules();
+        BoardGeometry g = pos.getGeometry();
+        List<Move> moves = MoveGenerator.generate(pos);
+        long jumpers = MoveGenerator.jumpers(pos);
+        // single jumps are the first steps of all capture sequences, maximal or not
+        List<Move> allMoves = moves;
+        if (rules.isMaximumCapture() && jumpers != 0) {
+            allMoves = MoveGenerator.generate(new Position(rules.withMaximumCapture(false),
+                    pos.getWhite(), pos.getBlack(), pos.getKings(), pos.isWhiteToMove()));
+        }
+        long[] jumps = new long[64];
+        long[] steps = new long[64];
+        for (Move move : allMoves) {
+            if (move.isCapture()) {
+                jumps[move.getFrom()] |= 1L << move.getPath()[0];
+            } else {
+                steps[move.getFrom()] |= 1L << move.getTo();
+            }
+        }
+
+        GameModel model = GameModel.fromPosition(pos, dataManager, message -> { }, winner -> { });
+        for (Piece piece : model.getPieces()) {
+            int from = g.square(piece.getRow(), piece.getCol());
+            if ((pos.getOwn() & (1L << from)) == 0) continue;
+            String name = g.squareName(from);
+            if (model.hasCaptureFrom(piece) != ((jumpers & (1L << from)) != 0)) {
+                return "braní: hasCaptureFrom " + name + " " + model.hasCaptureFrom(piece) + " v " + pos.toFen();
+            }
+            for (int d = 0; d < 4; d++) {
+                for (long targets = g.ray(d, from); targets != 0; targets &= targets - 1) {
+                    int to = Long.numberOfTrailingZeros(targets);
+                    int row = g.row(to);
+                    int col = g.col(to);
+                    Piece captured = model.getCapturedPieceIfAny(piece, row, col);
+                    boolean jump = (jumps[from] & (1L << to)) != 0;
+                    if ((captured != null) != jump) {
+                        return "skok: " + name + "x" + g.squareName(to) + " model " + (captured != null)
+                                + " v " + pos.toFen();
+                    }
+                    if (captured != null) {
+                        long between = g.ray(d, from) & ~g.ray(d, to) & ~(1L << to);
+                        int at = g.square(captured.getRow(), captured.getCol());
+                        if ((between & pos.getOpponent() & (1L << at)) == 0) {
+                            return "skok: " + name + "x" + g.squareName(to) + " bere " + g.squareName(at)
+                                    + " v " + pos.toFen();
+                        }
+                    }
+                    if (jumpers == 0 && model.isValidSimpleMove(piece, row, col) != ((steps[from] & (1L << to)) != 0)) {
+                        return "tah: " + name + "-" + g.squareName(to) + " model "
+                                + model.isValidSimpleMove(piece, row, col) + " v " + pos.toFen();
+                    }
+                }
+            }
+        }
+
+        for (Move move : moves) {
+            String failure = play(pos, move);
+            if (failure != null) return failure;
+        }
+        if (allMoves != moves) {
+            Set<Move> maximal = new HashSet<>(moves);
+            for (Move move : allMoves) {
+                if (!maximal.contains(move) && acceptsShorter(pos, move)) {
+                    return "maximum: model přijal kratší braní " + move + " v " + pos.toFen();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Plays the move by clicks on a model in the position and compares the result with the engine.
+     */
+    private String play(Position pos, Move move) {
+        String[] message = {null};
+        String[] winner = {null};
+        GameModel model = GameModel.fromPosition(pos, dataManager, m -> message[0] = m, w -> winner[0] = w);
+        for (int[] click : move.toClicks()) {
+            model.handleTileClick(click[0], click[1]);
+        }
+        movesPlayed.incrementAndGet();
+        Position expected = pos.play(move);
+        Position actual = Position.fromModel(model);
+        if (!actual.equals(expected) || model.isMustContinueJump()) {
+            return "hrát: " + move + " dává " + actual.toFen() + " místo " + expected.toFen()
+                    + (message[0] != null && !message[0].equals(CONTINUE_JUMP) ? " (" + message[0] + ")" : "")
+                    + " v " + pos.toFen();
+        }
+        int outcome = MoveGenerator.outcome(expected);
+        String expectedWinner = outcome > 0 ? "bily" : outcome < 0 ? "cerny" : null;
+        if (model.isGameEnded() != (outcome != 0)
+                || (expectedWinner != null && !expectedWinner.equals(winner[0]))) {
+            return "konec: po " + move + " model " + (model.isGameEnded() ? "vítěz " + winner[0] : "hraje dál")
+                    + ", stroj " + (outcome != 0 ? "vítěz " + expectedWinner : "hraje dál") + " v " + pos.toFen();
+        }
+        return null;
+    }
+
+    /**
+     * Clicks a capture sequence which is not maximal until the model refuses a click,
+     * true if the model finished the turn with it.
+     */
+    private boolean acceptsShorter(Position pos, Move move) {
+        String[] message = {null};
+        GameModel model = GameModel.fromPosition(pos, dataManager, m -> message[0] = m, w -> { });
+        for (int[] click : move.toClicks()) {
+            model.handleTileClick(click[0], click[1]);
+            if (message[0] != null && !message[0].equals(CONTINUE_JUMP)) break;
+        }
+        return model.isWhiteTurn() != pos.isWhiteToMove();
+    }
+
+    private static String kind(String failure) {
+        return failure.substring(0, failure.indexOf(':'));
+    }
+
+    /**
+     * Removes pieces and crowns kings back to men while the same kind of difference remains.
+     */
+    Position shrink(Position pos, String failure) {
+        String kind = kind(failure);
+        BoardGeometry g = pos.getGeometry();
+        boolean smaller = true;
+        while (smaller) {
+            smaller = false;
+            for (long bits = pos.getWhite() | pos.getBlack(); bits != 0 && !smaller; bits &= bits - 1) {
+                long bit = Long.lowestOneBit(bits);
+                boolean white = (pos.getWhite() & bit) != 0;
+                List<Position> candidates = new ArrayList<>();
+                candidates.add(new Position(pos.getRules(), pos.getWhite() & ~bit, pos.getBlack() & ~bit,
+                        pos.getKings() & ~bit, pos.isWhiteToMove()));
+                // a man can never stand on the row where it is crowned
+                if ((pos.getKings() & bit) != 0 && (g.promotionRow(white) & bit) == 0) {
+                    candidates.add(new Position(pos.getRules(), pos.getWhite(), pos.getBlack(),
+                            pos.getKings() & ~bit, pos.isWhiteToMove()));
+                }
+                for (Position candidate : candidates) {
+                    String found = check(candidate);
+                    if (found != null && kind(found).equals(kind)) {
+                        pos = candidate;
+                        smaller = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return pos;
+    }
+
+    private void report(Rules rules, Position pos, String failure, String origin) {
+        Position minimal = shrink(pos, failure);
+        String fixture = GameArchive.rulesCode(rules) + ";" + minimal.toFen();
+        if (!known.add(fixture)) return;
+        String shrunk = check(minimal);
+        if (failures.incrementAndGet() <= REPORTED_FAILURES) {
+            System.out.println(origin + ": " + failure);
+            System.out.println("  nejmenší: " + shrunk);
+        }
+        try {
+            synchronized (this) {
+                Files.writeString(fixtures, fixture + ";" + shrunk + System.lineSeparator(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            System.err.println("Nelze uložit rozdíl: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks the saved fixtures, returns the number which still differ.
+     */
+    int checkFixtures() throws IOException {
+        if (!Files.exists(fixtures)) return 0;
+        int failing = 0;
+        int count = 0;
+        for (String line : Files.readAllLines(fixtures, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) continue;
+            String[] parts = line.split(";", 3);
+            try {
+                Position pos = Position.fromFen(GameArchive.parseRules(parts[0]), parts[1]);
+                known.add(parts[0] + ";" + parts[1]);
+                count++;
+                String failure = check(pos);
+                if (failure != null) {
+                    failing++;
+                    if (failing <= REPORTED_FAILURES) {
+                        System.out.println("regrese: " + failure);
+                    }
+                }
+            } catch (RuntimeException e) {
+                System.err.println(fixtures + ": " + e.getMessage());
+            }
+        }
+        System.out.printf("uložené rozdíly: %d, stále se liší: %d%n", count, failing);
+        return failing;
+    }
+
+    private void playGame(long index, long seed) {
+        Rules rules = variants.get((int) (index % variants.size()));
+        Random random = new Random(seed + index * 0x9E3779B97F4A7C15L);
+        Position pos = Position.initial(rules);
+        DrawTracker draws = new DrawTracker(pos.getHash());
+        for (int ply = 0; ply < MAX_PLIES && !draws.isDraw(); ply++) {
+            positions.incrementAndGet();
+            String failure = check(pos);
+            if (failure != null) {
+                report(rules, pos, failure, "hra " + index + " (" + rules + ") tah " + ply);
+                break;
+            }
+            if (MoveGenerator.outcome(pos) != 0) break;
+            List<Move> moves = MoveGenerator.generate(pos);
+            Move move = moves.get(random.nextInt(moves.size()));
+            boolean irreversible = DrawTracker.isIrreversible(pos, move);
+            pos = pos.play(move);
+            draws.add(pos.getHash(), irreversible);
+        }
+        games.incrementAndGet();
+    }
+
+    public boolean run(long gameCount, long seconds, int threads, long seed) throws IOException, InterruptedException {
+        int regressions = checkFixtures();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                long index;
+                while ((index = nextGame.getAndIncrement()) < gameCount && System.nanoTime() < deadline) {
+                    playGame(index, seed);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.DAYS);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("pravidla: %s, vlákna: %d, doba: %.1f s%n", variants, threads, elapsed);
+        System.out.printf("hry: %d (%.0f her/s), pozice: %d (%.0f pozic/s), odehrané tahy: %d%n",
+                games.get(), games.get() / elapsed, positions.get(), positions.get() / elapsed, movesPlayed.get());
+        System.out.printf("nové rozdíly: %d%s%n", failures.get(), failures.get() > 0 ? " (uloženy do " + fixtures + ")" : "");
+        return regressions == 0 && failures.get() == 0;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long gameCount = 1_000_000;
+        long seconds = 180;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        Path fixtures = Path.of("data/rules-fixtures.txt");
+        int size = 0;
+        boolean flying = false;
+        boolean maximumCapture = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games": gameCount = Long.parseLong(args[++i]); break;
+                case "--seconds": seconds = Long.parseLong(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--fixtures": fixtures = Path.of(args[++i]); break;
+                case "--size": size = Integer.parseInt(args[++i]); break;
+                case "--flying": flying = true; break;
+                case "--max-capture": maximumCapture = true; break;
+                default: break;
+            }
+        }
+        // without --size every combination of the rules is played in turn
+        Set<Rules> variants = new LinkedHashSet<>();
+        if (size != 0) {
+            variants.add(new Rules(BoardGeometry.of(size), flying, maximumCapture));
+        } else {
+            for (int boardSize : new int[] {8, 10}) {
+                for (int options = 0; options < 4; options++) {
+                    variants.add(new Rules(BoardGeometry.of(boardSize), (options & 1) != 0, (options & 2) != 0));
+                }
+            }
+        }
+        if (fixtures.getParent() != null) {
+            Files.createDirectories(fixtures.getParent());
+        }
+        RulesFuzzer fuzzer = new RulesFuzzer(new ArrayList<>(variants), fixtures);
+        if (!fuzzer.run(gameCount, seconds, threads, seed)) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Search
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Iterative deepening alpha-beta search.
+ * The search polls the stop flag regularly, so it can be cancelled from another thread.
+ * Leaves are scored by an {@link Evaluator} updated along the searched line.
+ *
+ * Searches sharing a {@link TranspositionTable} reuse each other's results, which is
+ * what makes pondering pay off: a search started on the expected position keeps
+ * its table entries even when the guess was wrong. A pondering search has no time
+ * limit until {@link #ponderHit} gives it one.
+ */
+public class Search {
+    public static final int WIN_SCORE = 100_000;
+    private static final int CHECK_INTERVAL = 1024;
+    private static final int DEFAULT_TABLE_ENTRIES = 1 << 16;
+
+    private final AtomicBoolean stop;
+    private final EvalWeights weights;
+    private final TranspositionTable table;
+    private Evaluator evaluator;
+    private long nodes;
+    // start and ponder limit are guarded by this, the ponder hit may come before the search starts
+    private long start;
+    private long ponderLimit = -1;
+    private volatile long deadline;
+    private boolean aborted;
+
+    public Search(AtomicBoolean stop) {
+        this(stop, EvalWeights.getDefault(), new TranspositionTable(DEFAULT_TABLE_ENTRIES));
+    }
+
+    public Search(AtomicBoolean stop, EvalWeights weights, TranspositionTable table) {
+        this.stop = stop;
+        this.weights = weights;
+        this.table = table;
+    }
+
+    /**
+     * Searches until maxDepth is completed, time runs out or search is stopped.
+     * Returns the best move of the last fully searched depth.
+     */
+    public SearchResult search(Position root, int maxDepth, long timeLimitMillis) {
+        FlightEvents.SearchEvent event = new FlightEvents.SearchEvent();
+        event.begin();
+        SearchResult result = iterate(root, maxDepth, timeLimitMillis);
+        event.end();
+        if (event.shouldCommit()) {
+            event.maxDepth = maxDepth;
+            event.depth = result.getDepth();
+            event.nodes = result.getNodes();
+            event.score = result.getScore();
+            event.bestMove = String.valueOf(result.getBestMove());
+            event.timeLimitMillis = timeLimitMillis;
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Searches without time limit until maxDepth is completed or the search is stopped.
+     * Another thread may turn it into a normal search with {@link #ponderHit}.
+     */
+    public SearchResult ponder(Position root, int maxDepth) {
+        return search(root, maxDepth, -1);
+    }
+
+    /**
+     * The pondered position came up: the search ends when the time limit counted from
+     * its start is over, but gets at least a tenth of the limit from now.
+     */
+    public synchronized void ponderHit(long timeLimitMillis) {
+        ponderLimit = timeLimitMillis;
+        if (start != 0) {
+            deadline = Math.max(start + timeLimitMillis, System.currentTimeMillis() + timeLimitMillis / 10);
+        }
+    }
+
+    /**
+     * Multi-PV analysis without time limit: after every completed depth the best lines
+     * (at most the given count) are passed to onDepth. Runs until maxDepth is completed
+     * or the search is stopped and returns the last complete analysis, null if none.
+     *
+     * Root moves are searched with the window opened at the score of the last wanted
+     * line, so the lines are exact and only the moves below them are cut.
+     */
+    public Analysis analyze(Position root, int lineCount, int maxDepth, Consumer<Analysis> onDepth) {
+        prepare(root, -1);
+        List<Move> moves = MoveGenerator.generate(root);
+        if (moves.isEmpty()) return null;
+
+        Analysis last = null;
+        int[] scores = new int[moves.size()];
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int count = 0;
+            for (Move move : moves) {
+                int alpha = count < lineCount ? -WIN_SCORE - 1 : kthBest(scores, count, lineCount);
+                Position next = root.play(move);
+                evaluator.make(root, move, next);
+                int score = -negamax(next, depth - 1, -WIN_SCORE - 1, -alpha, 1);
+                evaluator.unmake();
+                if (aborted) break;
+                scores[count++] = score;
+            }
+            if (aborted) break;
+
+            // stable sort by score, the best move of this depth goes first in the next one
+            Integer[] order = new Integer[moves.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Integer.compare(scores[b], scores[a]));
+            List<Move> sorted = new ArrayList<>();
+            int[] sortedScores = new int[scores.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted.add(moves.get(order[i]));
+                sortedScores[i] = scores[order[i]];
+            }
+            moves = sorted;
+            System.arraycopy(sortedScores, 0, scores, 0, scores.length);
+
+            List<Analysis.Line> lines = new ArrayList<>();
+            for (int i = 0; i < Math.min(lineCount, moves.size()); i++) {
+                lines.add(new Analysis.Line(principalVariation(root, moves.get(i), depth), scores[i]));
+            }
+            last = new Analysis(lines, depth, nodes, System.currentTimeMillis() - start);
+            onDepth.accept(last);
+            if (moves.size() == 1 || Math.abs(scores[0]) >= WIN_SCORE - maxDepth) break;
+        }
+        return last;
+    }
+
+    private static int kthBest(int[] scores, int count, int k) {
+        int[] copy = Arrays.copyOf(scores, count);
+        Arrays.sort(copy);
+        return copy[count - k];
+    }
+
+    /**
+     * The move followed by the best moves stored in the table, at most depth moves.
+     */
+    public List<Move> principalVariation(Position root, Move first, int depth) {
+        List<Move> line = new ArrayList<>();
+        line.add(first);
+        Position pos = root.play(first);
+        while (line.size() < depth && MoveGenerator.outcome(pos) == 0) {
+            Move move = table.bestMove(pos);
+            if (move == null) break;
+            line.add(move);
+            pos = pos.play(move);
+        }
+        return line;
+    }
+
+    private void prepare(Position root, long timeLimitMillis) {
+        synchronized (this) {
+            start = System.currentTimeMillis();
+            long limit = timeLimitMillis >= 0 ? timeLimitMillis : ponderLimit;
+            deadline = limit < 0 ? Long.MAX_VALUE : start + limit;
+        }
+        nodes = 0;
+        aborted = false;
+        if (evaluator == null || evaluator.getGeometry() != root.getGeometry()) {
+            evaluator = new Evaluator(weights, root.getGeometry());
+        }
+        evaluator.reset(root);
+        table.newSearch();
+    }
+
+    private SearchResult iterate(Position root, int maxDepth, long timeLimitMillis) {
+        prepare(root, timeLimitMillis);
+
+        List<Move> moves = MoveGenerator.generate(root);
+        if (moves.isEmpty()) {
+            return new SearchResult(null, -WIN_SCORE, 0, 0, 0);
+        }
+
+        // a previous search or the ponder search may already know the best move
+        Move known = table.bestMove(root);
+        Move best = known != null ? known : moves.get(0);
+        int bestScore = 0;
+        int completedDepth = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            // best move of previous iteration is searched first
+            moves.remove(best);
+            moves.add(0, best);
+
+            Move iterationBest = null;
+            int alpha = -WIN_SCORE - 1;
+            for (Move move : moves) {
+                Position next = root.play(move);
+                evaluator.make(root, move, next);
+                int score = -negamax(next, depth - 1, -WIN_SCORE - 1, -alpha, 1);
+                evaluator.unmake();
+                if (aborted) break;
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBest = move;
+                }
+            }
+            if (aborted) break;
+
+            best = iterationBest;
+            bestScore = alpha;
+            completedDepth = depth;
+            table.store(root.getHash(), depth, toTable(bestScore, 0), TranspositionTable.EXACT,
+                    MoveGenerator.generate(root).indexOf(best));
+            if (moves.size() == 1 || Math.abs(bestScore) >= WIN_SCORE - maxDepth) break;
+        }
+        return new SearchResult(best, bestScore, completedDepth, nodes, System.currentTimeMillis() - start);
+    }
+
+    private int negamax(Position pos, int depth, int alpha, int beta, int ply) {
+        if (++nodes % CHECK_INTERVAL == 0 && (stop.get() || System.currentTimeMillis() > deadline)) {
+            aborted = true;
+        }
+        if (aborted) return 0;
+
+        int outcome = MoveGenerator.outcome(pos);
+        if (outcome != 0) {
+            boolean sideToMoveWon = (outcome > 0) == pos.isWhiteToMove();
+            return sideToMoveWon ? WIN_SCORE - ply : -WIN_SCORE + ply;
+        }
+
+        long entry = depth > 0 ? table.probe(pos.getHash()) : 0;
+        int first = 0;
+        if (entry != 0) {
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+            first = TranspositionTable.moveIndex(entry);
+        }
+
+        List<Move> moves = MoveGenerator.generate(pos);
+        // captures are forced, search them a bit deeper so exchanges are not cut in half
+        if (depth <= 0 && !moves.get(0).isCapture()) {
+            return evaluator.score(pos.isWhiteToMove());
+        }
+        if (first >= moves.size()) {
+            first = 0;
+        }
+
+        int originalAlpha = alpha;
+        int bestIndex = TranspositionTable.NO_MOVE;
+        for (int k = 0; k < moves.size(); k++) {
+            // the table move first, the others in generated order
+            int index = k == 0 ? first : (k <= first ? k - 1 : k);
+            Move move = moves.get(index);
+            Position next = pos.play(move);
+            evaluator.make(pos, move, next);
+            int score = -negamax(next, depth - 1, -beta, -alpha, ply + 1);
+            evaluator.unmake();
+            if (aborted) return 0;
+            if (score >= beta) {
+                if (depth > 0) {
+                    table.store(pos.getHash(), depth, toTable(score, ply), TranspositionTable.LOWER, index);
+                }
+                return score;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestIndex = index;
+            }
+        }
+        if (depth > 0) {
+            int bound = alpha > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+            table.store(pos.getHash(), depth, toTable(alpha, ply), bound, bestIndex);
+        }
+        return alpha;
+    }
+
+    /**
+     * Win scores are stored as distance from the stored position, not from the root.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= WIN_SCORE - 1000) return score + ply;
+        if (score <= -WIN_SCORE + 1000) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN_SCORE - 1000) return score - ply;
+        if (score <= -WIN_SCORE + 1000) return score + ply;
+        return score;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * SearchResult
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+/**
+ * Result of an engine search. Best move is null when side to move has no move.
+ */
+public class SearchResult {
+    private final Move bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedMillis;
+
+    public SearchResult(Move bestMove, int score, int depth, long nodes, long elapsedMillis) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Move getBestMove() { return bestMove; }
+    public int getScore() { return score; }
+    public int getDepth() { return depth; }
+    public long getNodes() { return nodes; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    @Override
+    public String toString() {
+        return String.format("%s (skóre %d, hloubka %d, uzly %d, %d ms)",
+                bestMove, score, depth, nodes, elapsedMillis);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * SnapshotBenchmark
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Checks and measures loading of data from the binary snapshot against the CSV files.
+ *
+ * For growing histories random CSV files are written to a temporary directory and the
+ * data is loaded three ways: from CSV, from the snapshot, and from CSV again after a
+ * byte of the snapshot is damaged and after the CSV file changes. All loads must give
+ * the same results and ratings. Exits with status 1 when a check fails.
+ *
+ * Usage: SnapshotBenchmark [--players p]
+ */
+public class SnapshotBenchmark {
+
+    private static void writeCsv(Path dir, int playerCount, int resultCount, Random random) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(dir.resolve("players.csv")))) {
+            writer.println("name,gamesPlayed,gamesWon,totalMoves,totalTime");
+            for (int i = 0; i < playerCount; i++) {
+                writer.printf("hrac%d,%d,%d,%d,%d%n", i, 10, 5, 400, 60_000L);
+            }
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(dir.resolve("results.csv")))) {
+            writer.println("white,black,winner,moves,duration,timestamp");
+            long time = 1_700_000_000_000L;
+            for (int i = 0; i < resultCount; i++) {
+                String white = "hrac" + random.nextInt(playerCount);
+                String black = "hrac" + random.nextInt(playerCount);
+                time += random.nextInt(60_000);
+                writer.printf("%s,%s,%s,%d,%d,%d%n", white, black, random.nextBoolean() ? white : black,
+                        20 + random.nextInt(60), random.nextInt(600_000), time);
+            }
+        }
+    }
+
+    private static double load(Path dir, DataManager[] out) {
+        long start = System.nanoTime();
+        out[0] = new DataManager(dir.toString());
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static boolean same(DataManager a, DataManager b) {
+        ResultStore x = a.getResults();
+        ResultStore y = b.getResults();
+        if (x.size() != y.size()) return false;
+        for (int i = 0; i < x.size(); i++) {
+            if (!x.getPlayers().name(x.getWhite(i)).equals(y.getPlayers().name(y.getWhite(i)))
+                    || !x.getPlayers().name(x.getBlack(i)).equals(y.getPlayers().name(y.getBlack(i)))
+                    || x.getWinner(i) != y.getWinner(i) || x.getMoves(i) != y.getMoves(i)
+                    || x.getDuration(i) != y.getDuration(i) || x.getTime(i) != y.getTime(i)) {
+                return false;
+            }
+        }
+        return a.getRatings().getElo("hrac1") == b.getRatings().getElo("hrac1")
+                && a.getAllPlayers().size() == b.getAllPlayers().size();
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int playerCount = 1000;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--players")) playerCount = Integer.parseInt(args[++i]);
+        }
+        Random random = new Random(1);
+        int failures = 0;
+        for (int resultCount : new int[] {10_000, 100_000, 1_000_000}) {
+            Path dir = Files.createTempDirectory("snapshot");
+            try {
+                writeCsv(dir, playerCount, resultCount, random);
+                DataManager[] loaded = new DataManager[1];
+                double csv = load(dir, loaded);
+                DataManager fromCsv = loaded[0];
+                fromCsv.writeSnapshot();
+                Path snapshot = dir.resolve("snapshot.bin");
+
+                double binary = load(dir, loaded);
+                if (!same(fromCsv, loaded[0])) {
+                    System.out.println("CHYBA: snímek neodpovídá CSV");
+                    failures++;
+                }
+
+                // damaged snapshot falls back to CSV
+                try (RandomAccessFile file = new RandomAccessFile(snapshot.toFile(), "rw")) {
+                    file.seek(file.length() / 2);
+                    int b = file.read();
+                    file.seek(file.length() / 2);
+                    file.write(b ^ 0xFF);
+                }
+                load(dir, loaded);
+                if (!same(fromCsv, loaded[0])) failures++;
+
+                // snapshot older than the CSV file falls back to CSV
+                loaded[0].writeSnapshot();
+                Files.writeString(dir.resolve("results.csv"), "white,black,winner,moves,duration,timestamp\n");
+                load(dir, loaded);
+                if (loaded[0].getResults().size() != 0) {
+                    System.out.println("CHYBA: zastaralý snímek byl použit");
+                    failures++;
+                }
+
+                System.out.printf("%d výsledků: CSV %.0f ms, snímek %.0f ms (%d kB)%n",
+                        resultCount, csv, binary, Files.size(snapshot) / 1024);
+            } finally {
+                deleteTree(dir);
+            }
+        }
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * TranspositionTable
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hash table of searched positions shared by consecutive searches.
+ *
+ * Every entry is two longs: the packed data and the Zobrist hash xored with the data.
+ * A probe accepts the entry only if both still match, so a search pondering on one
+ * thread and another search writing on a different thread can share the table without
+ * locks; a torn entry is simply a miss. The best move is stored as its index in the
+ * list of {@link MoveGenerator#generate}, which is deterministic.
+ *
+ * Entries of older searches are replaced first, within one search a deeper entry wins.
+ */
+public final class TranspositionTable {
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+    public static final int NO_MOVE = 0xFF;
+
+    // data layout: score 32 bits | depth 8 | bound 2 | move 8 | generation 8 | valid bit 63
+    private static final long VALID = 1L << 63;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private int generation;
+
+    /**
+     * Table with the given number of entries, rounded up to a power of two.
+     */
+    public TranspositionTable(int entries) {
+        int size = Integer.highestOneBit(Math.max(2, entries - 1)) << 1;
+        this.keys = new long[size];
+        this.data = new long[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Marks the start of a new search, entries stored before become replaceable.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(data, 0);
+    }
+
+    /**
+     * Packed entry of the position, 0 when there is none.
+     */
+    public long probe(long hash) {
+        int slot = (int) hash & mask;
+        long entry = data[slot];
+        return (keys[slot] ^ entry) == hash && (entry & VALID) != 0 ? entry : 0;
+    }
+
+    public void store(long hash, int depth, int score, int bound, int moveIndex) {
+        int slot = (int) hash & mask;
+        long old = data[slot];
+        if ((old & VALID) != 0 && (keys[slot] ^ old) != hash
+                && generation(old) == generation && depth(old) > depth) {
+            return;
+        }
+        int move = moveIndex < 0 || moveIndex >= NO_MOVE ? NO_MOVE : moveIndex;
+        long entry = VALID | ((long) generation << 50) | ((long) move << 42)
+                | ((long) bound << 40) | ((long) (depth & 0xFF) << 32) | (score & 0xFFFFFFFFL);
+        data[slot] = entry;
+        keys[slot] = hash ^ entry;
+    }
+
+    public static int score(long entry) {
+        return (int) entry;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 32) & 0xFF;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> 40) & 0x3;
+    }
+
+    public static int moveIndex(long entry) {
+        return (int) (entry >>> 42) & 0xFF;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> 50) & 0xFF;
+    }
+
+    /**
+     * Best move stored for the position, null when the table does not know any.
+     */
+    public Move bestMove(Position pos) {
+        long entry = probe(pos.getHash());
+        if (entry == 0 || moveIndex(entry) == NO_MOVE) return null;
+        List<Move> moves = MoveGenerator.generate(pos);
+        int index = moveIndex(entry);
+        return index < moves.size() ? moves.get(index) : null;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Zobrist
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys for Zobrist hashing of positions.
+ *
+ * The hash is the xor of one key per piece (by kind and square) and a key for white
+ * to move, so a move updates it by xoring out the changed pieces and xoring in the new
+ * ones. The keys come from a fixed seed, hashes are the same in every run.
+ */
+public final class Zobrist {
+    public static final int WHITE_MAN = 0;
+    public static final int WHITE_KING = 1;
+    public static final int BLACK_MAN = 2;
+    public static final int BLACK_KING = 3;
+
+    private static final long[][] PIECES = new long[4][64];
+    private static final long WHITE_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_C4EC_4E25L);
+        for (long[] keys : PIECES) {
+            for (int sq = 0; sq < 64; sq++) {
+                keys[sq] = random.nextLong();
+            }
+        }
+        WHITE_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    public static long piece(int kind, int square) {
+        return PIECES[kind][square];
+    }
+
+    public static long whiteToMove() {
+        return WHITE_TO_MOVE;
+    }
+
+    public static int kind(boolean white, boolean king) {
+        return (white ? WHITE_MAN : BLACK_MAN) + (king ? 1 : 0);
+    }
+
+    /**
+     * Hash of the given placement computed from scratch.
+     */
+    public static long hash(long white, long black, long kings, boolean whiteToMove) {
+        long hash = whiteToMove ? WHITE_TO_MOVE : 0;
+        for (long bits = white; bits != 0; bits &= bits - 1) {
+            int sq = Long.numberOfTrailingZeros(bits);
+            hash ^= PIECES[kind(true, (kings & (1L << sq)) != 0)][sq];
+        }
+        for (long bits = black; bits != 0; bits &= bits - 1) {
+            int sq = Long.numberOfTrailingZeros(bits);
+            hash ^= PIECES[kind(false, (kings & (1L << sq)) != 0)][sq];
+        }
+        return hash;
+    }
+}
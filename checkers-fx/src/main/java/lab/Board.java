@@ -0,0 +1,483 @@
+/*
+ * Board
+ *
+ * Version 1.1
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.paint.Color;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Board extends Canvas {
+    public final int size;
+    public final int squareSize;
+
+    private static final long OVERLAY_REFRESH_NANOS = 500_000_000L;
+    private static final long ANALYSIS_REFRESH_NANOS = 200_000_000L;
+    private static final int ANALYSIS_SHOWN_MOVES = 6;
+    private static final Color[] LINE_COLORS = {Color.LIMEGREEN, Color.ORANGE, Color.MEDIUMPURPLE};
+    private static final LatencyHistogram DRAW_TIME = Metrics.histogram("board.draw");
+
+    private static final int COMPUTER_MAX_DEPTH = 12;
+    private static final long COMPUTER_TIME_MILLIS = 800;
+    private static final int HINT_MAX_DEPTH = 20;
+    private static final long HINT_TIME_MILLIS = 1500;
+
+    private final GameModel gameModel;
+    private final PieceRenderer pieceRenderer;
+    private final Label infoLabel;
+    private final EngineExecutor engine;
+    private Move hintMove = null;
+
+    // analysis mode: background search and the lines currently drawn
+    private LiveAnalysis liveAnalysis = null;
+    private Analysis analysis = null;
+    private long analysisVersion = -1;
+    private long lastAnalysisPoll = 0;
+
+    // render loop state - redraw only when something changed or animation runs
+    private final AnimationTimer renderLoop;
+    private final FrameStats frameStats = new FrameStats();
+    private final Deque<MoveAnimation> animations = new ArrayDeque<>();
+    private boolean dirty = true;
+    private boolean showStats = false;
+    private long lastPulse = 0;
+    private long lastOverlayUpdate = 0;
+    private long lastClockSecond = -1;
+    private boolean piecesReady;
+
+    // clicks of a new game are recorded with -Dcheckers.recordClicks=true and written on dispose
+    private ClickRecorder clickRecorder = null;
+    private String clicksFile = null;
+
+    // new game
+    public Board(int width, int height, Player whitePlayer, Player blackPlayer, DataManager dataManager, Label infoLabel,
+                 EngineExecutor engine, Piece.PieceColor computerColor, Rules rules) {
+        this(width, height, infoLabel, null, whitePlayer, blackPlayer, dataManager, engine, rules);
+        engine.newGame();
+        gameModel.setComputerColor(computerColor);
+        maybeStartComputerMove();
+    }
+
+    // loaded game
+    public Board(int width, int height, Label infoLabel, GameModel loadedModel, Player white, Player black, DataManager dataMgr,
+                 EngineExecutor engine) {
+        this(width, height, infoLabel, loadedModel, white, black, dataMgr, engine, loadedModel.getRules());
+    }
+
+    private Board(int width, int height, Label infoLabel, GameModel loadedModel, Player white, Player black, DataManager dataMgr,
+                  EngineExecutor engine, Rules rules) {
+        super(width, height);
+        this.infoLabel = infoLabel;
+        this.engine = engine;
+        this.size = rules.getGeometry().getSize();
+        this.squareSize = Math.min(width, height) / size;
+
+        // 1. Images shared by all boards, decoded in background at startup
+        this.pieceRenderer = Resources.pieceRenderer();
+        this.piecesReady = pieceRenderer.isReady();
+
+        if (loadedModel != null) {
+            this.gameModel = loadedModel;
+        } else {
+            // new model = new game
+            this.gameModel = new GameModel(rules,
+                    white, black, dataMgr,
+                    this::showAlert,
+                    this::showGameEndDialog
+            );
+            if (Boolean.getBoolean("checkers.recordClicks")) {
+                clickRecorder = new ClickRecorder(rules);
+                clicksFile = dataMgr.getClicksFile();
+                gameModel.setClickRecorder(clickRecorder);
+            }
+        }
+
+        updateGameInfoLabel();
+
+        this.setFocusTraversable(true);
+        this.setOnMouseClicked(event -> {
+            requestFocus();
+            if (gameModel.isComputerTurn()) return;
+            int col = (int) (event.getX() / squareSize);
+            int row = (int) (event.getY() / squareSize);
+            // any running hint is about the old position now
+            engine.cancelAll();
+            hintMove = null;
+            trackMove(() -> gameModel.handleTileClick(row, col));
+            maybeStartComputerMove();
+        });
+        this.setOnKeyPressed(event -> {
+            if (event.getCode() == KeyCode.F3) {
+                showStats = !showStats;
+                dirty = true;
+            } else if (event.getCode() == KeyCode.A) {
+                toggleAnalysis();
+            }
+        });
+
+        this.renderLoop = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onPulse(now);
+            }
+        };
+        renderLoop.start();
+        maybeStartComputerMove();
+    }
+
+    /**
+     * Stops the render loop and engine work, must be called when board leaves the scene.
+     */
+    public void dispose() {
+        engine.cancelAll();
+        engine.stopPondering();
+        if (liveAnalysis != null) {
+            liveAnalysis.shutdown();
+            liveAnalysis = null;
+        }
+        renderLoop.stop();
+        animations.clear();
+        if (clickRecorder != null) {
+            gameModel.setClickRecorder(null);
+            try {
+                clickRecorder.appendTo(Path.of(clicksFile));
+            } catch (IOException e) {
+                System.err.println("Nelze uložit kliknutí: " + e.getMessage());
+            }
+            clickRecorder = null;
+        }
+    }
+
+    /**
+     * Asks engine for the best move of the side to move, result is highlighted on the board.
+     */
+    public void requestHint() {
+        if (gameModel.isGameEnded() || gameModel.isComputerTurn() || gameModel.isMustContinueJump()) return;
+        engine.submit(gameModel, HINT_MAX_DEPTH, HINT_TIME_MILLIS, result -> {
+            hintMove = result.getBestMove();
+            dirty = true;
+        });
+    }
+
+    /**
+     * Switches the analysis mode: best lines of the current position are drawn as arrows
+     * and refined while the search goes deeper. Not shown while the computer thinks.
+     */
+    public void toggleAnalysis() {
+        if (liveAnalysis == null) {
+            liveAnalysis = new LiveAnalysis();
+        } else {
+            liveAnalysis.shutdown();
+            liveAnalysis = null;
+        }
+        analysis = null;
+        dirty = true;
+    }
+
+    public boolean isAnalysisOn() {
+        return liveAnalysis != null;
+    }
+
+    private void maybeStartComputerMove() {
+        if (!gameModel.isComputerTurn() || gameModel.isMustContinueJump()) return;
+        engine.submitComputerMove(gameModel, COMPUTER_MAX_DEPTH, COMPUTER_TIME_MILLIS, this::playEngineMove);
+    }
+
+    private void playEngineMove(SearchResult result) {
+        Move move = result.getBestMove();
+        if (move == null) return;
+        // each click is one step of the move, so every jump gets its own animation
+        for (int[] click : move.toClicks()) {
+            trackMove(() -> gameModel.handleTileClick(click[0], click[1]));
+        }
+        // the human thinks now, search the reply we expect meanwhile
+        if (!gameModel.isGameEnded() && !gameModel.isComputerTurn()) {
+            engine.startPondering(gameModel, COMPUTER_MAX_DEPTH);
+        }
+    }
+
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+
+    /**
+     * Runs action changing the model and queues animations for pieces that moved.
+     */
+    private void trackMove(Runnable action) {
+        Map<Piece, int[]> before = new IdentityHashMap<>();
+        for (Piece p : gameModel.getPieces()) {
+            before.put(p, new int[]{p.getRow(), p.getCol()});
+        }
+
+        int movesBefore = gameModel.getMoveCount();
+        action.run();
+        // the label changes with finished turns only, not with every frame drawn
+        if (gameModel.getMoveCount() != movesBefore) {
+            updateGameInfoLabel();
+        }
+
+        Piece moved = null;
+        int[] from = null;
+        for (Piece p : gameModel.getPieces()) {
+            int[] pos = before.remove(p);
+            if (pos != null && (pos[0] != p.getRow() || pos[1] != p.getCol())) {
+                moved = p;
+                from = pos;
+            }
+        }
+        if (moved != null) {
+            // pieces left in the map were removed from the model = captured
+            Piece captured = before.isEmpty() ? null : before.keySet().iterator().next();
+            animations.add(new MoveAnimation(moved, from[0], from[1], moved.getRow(), moved.getCol(), captured));
+        }
+        dirty = true;
+    }
+
+    private void onPulse(long now) {
+        if (lastPulse != 0) {
+            frameStats.recordInterval(now - lastPulse);
+        }
+        lastPulse = now;
+
+        if (showStats && now - lastOverlayUpdate > OVERLAY_REFRESH_NANOS) {
+            lastOverlayUpdate = now;
+            dirty = true;
+        }
+
+        if (liveAnalysis != null) {
+            updateAnalysis(now);
+        }
+
+        // pieces were skipped while their images were still loading
+        if (!piecesReady && pieceRenderer.isReady()) {
+            piecesReady = true;
+            dirty = true;
+        }
+
+        if (dirty || !animations.isEmpty()) {
+            dirty = false;
+            long start = System.nanoTime();
+            drawBoard(now);
+            long renderNanos = System.nanoTime() - start;
+            frameStats.recordRender(renderNanos);
+            DRAW_TIME.record(renderNanos);
+        }
+
+        if (!gameModel.isGameEnded()) {
+            long second = (System.currentTimeMillis() - gameModel.getStartTime()) / 1000;
+            if (second != lastClockSecond) {
+                lastClockSecond = second;
+                updateGameInfoLabel();
+            }
+        }
+    }
+
+    private void updateAnalysis(long now) {
+        long version = gameModel.getVersion();
+        if (version != analysisVersion) {
+            analysisVersion = version;
+            analysis = null;
+            dirty = true;
+        }
+        if (gameModel.isComputerTurn()) return;
+        liveAnalysis.follow(gameModel);
+        if (now - lastAnalysisPoll < ANALYSIS_REFRESH_NANOS) return;
+        lastAnalysisPoll = now;
+        Analysis newest = liveAnalysis.poll(version);
+        if (newest != null) {
+            analysis = newest;
+            dirty = true;
+        }
+    }
+
+    // for saving game
+    public GameModel getGameModel() {
+        return gameModel;
+    }
+
+    private void drawBoard(long now) {
+        GraphicsContext gc = getGraphicsContext2D();
+
+        while (!animations.isEmpty() && animations.peekFirst().isFinished(now)) {
+            animations.pollFirst();
+        }
+        MoveAnimation current = animations.peekFirst();
+
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                gc.setFill((row + col) % 2 == 0 ? Color.GREY : Color.WHITESMOKE);
+                gc.fillRect(col * squareSize, row * squareSize, squareSize, squareSize);
+            }
+        }
+
+        Piece selected = gameModel.getSelectedPiece();
+        if (selected != null) {
+            gc.setStroke(Color.YELLOW);
+            gc.setLineWidth(4);
+            gc.strokeRect(selected.getCol() * squareSize, selected.getRow() * squareSize, squareSize, squareSize);
+        }
+
+        if (hintMove != null) {
+            gc.setStroke(Color.DEEPSKYBLUE);
+            gc.setLineWidth(4);
+            BoardGeometry geometry = hintMove.getGeometry();
+            gc.strokeRect(geometry.col(hintMove.getFrom()) * squareSize, geometry.row(hintMove.getFrom()) * squareSize, squareSize, squareSize);
+            gc.strokeRect(geometry.col(hintMove.getTo()) * squareSize, geometry.row(hintMove.getTo()) * squareSize, squareSize, squareSize);
+        }
+
+        List<Piece> capturedPending = new ArrayList<>();
+        for (MoveAnimation animation : animations) {
+            if (animation != current && animation.getCaptured() != null) {
+                capturedPending.add(animation.getCaptured());
+            }
+        }
+        for (Piece piece : capturedPending) {
+            pieceRenderer.draw(gc, piece, squareSize);
+        }
+
+        for (Piece piece : gameModel.getPieces()) {
+            if (current == null || piece != current.getPiece()) {
+                pieceRenderer.draw(gc, piece, squareSize);
+            }
+        }
+
+        if (current != null) {
+            double progress = current.progress(now);
+            if (current.getCaptured() != null) {
+                gc.setGlobalAlpha(1.0 - progress);
+                pieceRenderer.draw(gc, current.getCaptured(), squareSize);
+                gc.setGlobalAlpha(1.0);
+            }
+            pieceRenderer.drawAt(gc, current.getPiece(), current.getCol(progress) * squareSize,
+                    current.getRow(progress) * squareSize, squareSize);
+        }
+
+        if (analysis != null && animations.isEmpty()) {
+            drawAnalysis(gc);
+        }
+
+        if (showStats) {
+            drawStatsOverlay(gc);
+        }
+    }
+
+    /**
+     * First move of every line as an arrow over its landing squares, the best line on top.
+     */
+    private void drawAnalysis(GraphicsContext gc) {
+        List<Analysis.Line> lines = analysis.getLines();
+        for (int i = lines.size() - 1; i >= 0; i--) {
+            Move move = lines.get(i).getFirst();
+            BoardGeometry geometry = move.getGeometry();
+            gc.setStroke(LINE_COLORS[i % LINE_COLORS.length]);
+            gc.setGlobalAlpha(i == 0 ? 0.9 : 0.6);
+            gc.setLineWidth(i == 0 ? 6 : 4);
+            double x = (geometry.col(move.getFrom()) + 0.5) * squareSize;
+            double y = (geometry.row(move.getFrom()) + 0.5) * squareSize;
+            double prevX = x;
+            double prevY = y;
+            for (int square : move.getPath()) {
+                prevX = x;
+                prevY = y;
+                x = (geometry.col(square) + 0.5) * squareSize;
+                y = (geometry.row(square) + 0.5) * squareSize;
+                gc.strokeLine(prevX, prevY, x, y);
+            }
+            double angle = Math.atan2(y - prevY, x - prevX);
+            double head = squareSize * 0.3;
+            gc.strokeLine(x, y, x - head * Math.cos(angle - 0.5), y - head * Math.sin(angle - 0.5));
+            gc.strokeLine(x, y, x - head * Math.cos(angle + 0.5), y - head * Math.sin(angle + 0.5));
+        }
+        gc.setGlobalAlpha(0.7);
+        gc.setFill(Color.BLACK);
+        gc.fillRect(4, getHeight() - 22 - 18 * lines.size(), 330, 18 + 18 * lines.size());
+        gc.setGlobalAlpha(1.0);
+        gc.setFill(Color.WHITE);
+        gc.fillText("Analýza, hloubka " + analysis.getDepth(), 10, getHeight() - 8 - 18 * lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            gc.setFill(LINE_COLORS[i % LINE_COLORS.length]);
+            gc.fillText((i + 1) + ". " + describe(lines.get(i)), 10, getHeight() - 8 - 18 * (lines.size() - 1 - i));
+        }
+    }
+
+    private static String describe(Analysis.Line line) {
+        StringBuilder sb = new StringBuilder(String.format("%+.2f", line.getScore() / 100.0));
+        List<Move> moves = line.getMoves();
+        for (int i = 0; i < Math.min(ANALYSIS_SHOWN_MOVES, moves.size()); i++) {
+            sb.append(' ').append(moves.get(i));
+        }
+        if (moves.size() > ANALYSIS_SHOWN_MOVES) {
+            sb.append(" …");
+        }
+        return sb.toString();
+    }
+
+    private void drawStatsOverlay(GraphicsContext gc) {
+        gc.setGlobalAlpha(0.7);
+        gc.setFill(Color.BLACK);
+        gc.fillRect(4, 4, 330, 22);
+        gc.setGlobalAlpha(1.0);
+        gc.setFill(Color.LIME);
+        gc.fillText(frameStats.toString(), 10, 19);
+    }
+
+    private void updateGameInfoLabel() {
+        long elapsed = (System.currentTimeMillis() - gameModel.getStartTime()) / 1000;
+        long seconds = elapsed % 60;
+        long minutes = elapsed / 60;
+
+        String infoText = String.format(
+                "Bílý: %s  |  Černý: %s%nTahy: %d  |  Na tahu: %s%nČas: %d:%02d",
+                gameModel.getWhitePlayer().getName(),
+                gameModel.getBlackPlayer().getName(),
+                gameModel.getMoveCount(),
+                gameModel.isWhiteTurn() ? "Bílý" : "Černý",
+                minutes, seconds
+        );
+        infoLabel.setText(infoText);
+    }
+
+    public boolean isGameEnded() {
+        return gameModel.isGameEnded();
+    }
+
+    private void showAlert(String message) {
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Upozornění");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+
+    private void showGameEndDialog(String winner) {
+        updateGameInfoLabel();
+        long duration = System.currentTimeMillis() - gameModel.getStartTime();
+        long seconds = duration / 1000;
+        long minutes = seconds / 60;
+        long secs = seconds % 60;
+
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Konec hry");
+        alert.setHeaderText("Hra skončila!");
+        String result = gameModel.isDraw() ? "Remíza: " + gameModel.getDrawReason() : "Vítěz: " + winner;
+        alert.setContentText(String.format("%s%nPočet tahů: %d%nČas hry: %d:%02d%nVýsledek byl uložen.",
+                result, gameModel.getMoveCount(), minutes, secs));
+        alert.showAndWait();
+    }
+}
\ No newline at end of file
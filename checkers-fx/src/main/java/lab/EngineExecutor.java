@@ -0,0 +1,151 @@
+/*
+ * EngineExecutor
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import javafx.application.Platform;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs engine searches on its own thread pool so the FX thread is never blocked.
+ *
+ * Every request remembers the model version and a generation number. Results are
+ * handed back on the FX thread only if nothing changed meanwhile, so a stale move
+ * is never applied to a different position.
+ *
+ * All searches share one transposition table. While the human thinks, a {@link Ponderer}
+ * searches the expected reply on a thread of its own, so it never holds up hints.
+ */
+public class EngineExecutor {
+    private static final int TABLE_ENTRIES = 1 << 20;
+
+    private final ExecutorService pool;
+    private final ExecutorService ponderPool;
+    private final TranspositionTable table = new TranspositionTable(TABLE_ENTRIES);
+    private final Ponderer ponderer;
+    private final AtomicLong generation = new AtomicLong();
+    private final Set<AtomicBoolean> running = ConcurrentHashMap.newKeySet();
+
+    public EngineExecutor() {
+        int threads = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "engine-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+        this.ponderPool = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "engine-ponder");
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+        this.ponderer = new Ponderer(table, EvalWeights.getDefault(), ponderPool);
+    }
+
+    /**
+     * Forgets everything searched so far, called when a new game starts.
+     */
+    public void newGame() {
+        ponderer.stop();
+        table.clear();
+    }
+
+    /**
+     * Starts search of the current model position, onResult is called on the FX thread.
+     */
+    public void submit(GameModel model, int maxDepth, long timeLimitMillis, Consumer<SearchResult> onResult) {
+        Position position = Position.fromModel(model);
+        long version = model.getVersion();
+        long gen = generation.get();
+        AtomicBoolean stop = new AtomicBoolean();
+        running.add(stop);
+
+        pool.submit(() -> {
+            SearchResult result;
+            try {
+                result = new Search(stop, EvalWeights.getDefault(), table).search(position, maxDepth, timeLimitMillis);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                return;
+            } finally {
+                running.remove(stop);
+            }
+            Platform.runLater(() -> {
+                if (!stop.get() && gen == generation.get() && model.getVersion() == version) {
+                    onResult.accept(result);
+                }
+            });
+        });
+    }
+
+    /**
+     * Starts the computer's search; when the position is the one being pondered, the ponder
+     * search is finished instead, otherwise pondering stops and a new search starts.
+     */
+    public void submitComputerMove(GameModel model, int maxDepth, long timeLimitMillis, Consumer<SearchResult> onResult) {
+        Ponderer.Session session = ponderer.resolve(Position.fromModel(model), timeLimitMillis);
+        if (session == null) {
+            submit(model, maxDepth, timeLimitMillis, onResult);
+            return;
+        }
+        long version = model.getVersion();
+        long gen = generation.get();
+        AtomicBoolean stop = session.getStop();
+        running.add(stop);
+        session.getResult().whenComplete((result, error) -> {
+            running.remove(stop);
+            if (error != null) {
+                error.printStackTrace();
+                return;
+            }
+            Platform.runLater(() -> {
+                if (!stop.get() && gen == generation.get() && model.getVersion() == version) {
+                    onResult.accept(result);
+                }
+            });
+        });
+    }
+
+    /**
+     * Starts pondering after the computer moved, the human is to move in the model now.
+     */
+    public void startPondering(GameModel model, int maxDepth) {
+        ponderer.start(Position.fromModel(model), maxDepth);
+    }
+
+    public void stopPondering() {
+        ponderer.stop();
+    }
+
+    /**
+     * Stops all running searches and invalidates results which were not delivered yet.
+     * A ponder search still waiting for the human's move is left running.
+     */
+    public void cancelAll() {
+        generation.incrementAndGet();
+        for (AtomicBoolean stop : running) {
+            stop.set(true);
+        }
+    }
+
+    public void shutdown() {
+        cancelAll();
+        ponderer.stop();
+        pool.shutdownNow();
+        ponderPool.shutdownNow();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * FrameStats
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.Arrays;
+
+/**
+ * Collects frame intervals of the render loop in a fixed ring buffer.
+ * Recording does not allocate, percentiles are computed only on demand.
+ */
+public class FrameStats {
+    private static final int CAPACITY = 512;
+    private static final long TARGET_FRAME_NANOS = 16_666_667L;
+
+    private final long[] intervals = new long[CAPACITY];
+    private final long[] sortBuffer = new long[CAPACITY];
+    private int next = 0;
+    private int count = 0;
+    private long totalFrames = 0;
+    private long droppedFrames = 0;
+    private long lastRenderNanos = 0;
+
+    /**
+     * Records time between two consecutive pulses.
+     */
+    public void recordInterval(long nanos) {
+        intervals[next] = nanos;
+        next = (next + 1) % CAPACITY;
+        if (count < CAPACITY) {
+            count++;
+        }
+        totalFrames++;
+        // more than one and half of frame budget = at least one frame was skipped
+        if (nanos > TARGET_FRAME_NANOS * 3 / 2) {
+            droppedFrames += Math.max(1, nanos / TARGET_FRAME_NANOS - 1);
+        }
+    }
+
+    public void recordRender(long nanos) {
+        lastRenderNanos = nanos;
+    }
+
+    /**
+     * Returns percentile (0-100) of recent frame intervals in milliseconds.
+     */
+    public double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        System.arraycopy(intervals, 0, sortBuffer, 0, count);
+        Arrays.sort(sortBuffer, 0, count);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        index = Math.max(0, Math.min(count - 1, index));
+        return sortBuffer[index] / 1_000_000.0;
+    }
+
+    public long getTotalFrames() {
+        return totalFrames;
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    public double getLastRenderMillis() {
+        return lastRenderNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p50: %.1f ms  p99: %.1f ms  drop: %d  render: %.2f ms",
+                percentileMillis(50), percentileMillis(99), droppedFrames, getLastRenderMillis());
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * LiveAnalysis
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Background multi-PV analysis of the position on the board.
+ *
+ * The search runs on a thread of its own and publishes every completed depth into a
+ * single slot, overwriting what was not picked up yet. The board takes the slot from
+ * its render loop at most a few times per second, so the FX thread only ever sees the
+ * newest result and a fast search cannot flood it with updates.
+ */
+public class LiveAnalysis {
+    private static final int LINES = 3;
+    private static final int MAX_DEPTH = 40;
+    private static final int TABLE_ENTRIES = 1 << 18;
+
+    private final ExecutorService thread;
+    private final TranspositionTable table = new TranspositionTable(TABLE_ENTRIES);
+    // newest result not taken by the board yet, tagged with the model version it belongs to
+    private final AtomicReference<Tagged> latest = new AtomicReference<>();
+    private AtomicBoolean stop;
+    private long version = -1;
+
+    private static final class Tagged {
+        final long version;
+        final Analysis analysis;
+
+        Tagged(long version, Analysis analysis) {
+            this.version = version;
+            this.analysis = analysis;
+        }
+    }
+
+    public LiveAnalysis() {
+        this.thread = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "engine-analysis");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    /**
+     * Analyses the current model position unless it is already being analysed.
+     * Must be called on the FX thread.
+     */
+    public void follow(GameModel model) {
+        if (model.getVersion() == version) return;
+        stopSearch();
+        version = model.getVersion();
+        latest.set(null);
+        if (model.isGameEnded() || model.isMustContinueJump()) return;
+
+        Position position = Position.fromModel(model);
+        long tag = version;
+        AtomicBoolean flag = new AtomicBoolean();
+        stop = flag;
+        thread.submit(() -> {
+            try {
+                new Search(flag, EvalWeights.getDefault(), table).analyze(position, LINES, MAX_DEPTH,
+                        analysis -> latest.set(new Tagged(tag, analysis)));
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Takes the newest analysis of the given model version, null when nothing new came.
+     */
+    public Analysis poll(long modelVersion) {
+        Tagged tagged = latest.getAndSet(null);
+        return tagged != null && tagged.version == modelVersion ? tagged.analysis : null;
+    }
+
+    private void stopSearch() {
+        if (stop != null) {
+            stop.set(true);
+            stop = null;
+        }
+    }
+
+    public void shutdown() {
+        stopSearch();
+        thread.shutdownNow();
+    }
+}
@@ -0,0 +1,474 @@
+/*
+ * Main
+ *
+ * Version 1.2
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.*;
+import javafx.stage.Stage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class Main extends Application {
+
+    private final int MENU_WIDTH = 500;
+    private final int MENU_HEIGHT = 500;
+    private final int LOGIN_WIDTH = 500;
+    private final int LOGIN_HEIGHT = 460;
+    private final int STATS_WIDTH = 800;
+    private final int STATS_HEIGHT = 600;
+    private final int GAME_WINDOW_WIDTH = 850;
+    private final int GAME_WINDOW_HEIGHT = 1000;
+    private final int BOARD_SIZE = 800;
+
+    private static final String SAVE_FILE = "savedGame.bin";
+    private static final String COMPUTER_NAME = "Počítač";
+
+    // loaded in background, the screens which need it wait for it
+    private CompletableFuture<DataManager> data;
+    private DataManager dataManager;
+    // screen to open once the data is loaded, replaced when the user goes elsewhere
+    private Runnable waitingForData;
+    private EngineExecutor engine;
+    private Stage primaryStage;
+    // screens built once and shown again on every visit
+    private Scene menuScene;
+    private Scene loginScene;
+    private Scene statsScene;
+    private final List<Runnable> statsRefresh = new ArrayList<>();
+
+    @Override
+    public void start(Stage stage) {
+        logStartup("start aplikace");
+        this.primaryStage = stage;
+        Resources.preload();
+        long loadStart = System.nanoTime();
+        this.data = DataManager.loadAsync();
+        data.whenComplete((dm, e) -> logStartup(e == null
+                ? String.format("data načtena (%d ms)", (System.nanoTime() - loadStart) / 1_000_000)
+                : "chyba při načítání dat: " + e));
+        Metrics.start();
+        this.engine = new EngineExecutor();
+        primaryStage.setTitle("Checkers");
+        showMainMenu();
+        primaryStage.show();
+        logStartup("menu zobrazeno");
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                logStartup("první snímek");
+                stop();
+            }
+        }.start();
+    }
+
+    @Override
+    public void stop() {
+        if (engine != null) engine.shutdown();
+        // nothing could change before the data was loaded
+        if (data.isDone() && !data.isCompletedExceptionally()) data.join().writeSnapshot();
+        Metrics.stop();
+    }
+
+    /**
+     * Logs a startup phase with the time since the process started.
+     */
+    private static void logStartup(String phase) {
+        long millis = ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis())
+                .orElse(-1L);
+        System.out.printf("start: %s po %d ms%n", phase, millis);
+    }
+
+    /**
+     * Runs the action on the FX thread once the data is loaded, right away if it already is.
+     * Meanwhile a waiting screen is shown, leaving it cancels the action.
+     */
+    private void withData(Runnable action) {
+        if (data.isDone()) {
+            waitingForData = null;
+            if (data.isCompletedExceptionally()) {
+                showAlert("Chyba", "Data se nepodařilo načíst.");
+                return;
+            }
+            dataManager = data.join();
+            action.run();
+            return;
+        }
+        waitingForData = action;
+        VBox root = createLayout();
+        root.getChildren().addAll(new ProgressIndicator(), new Label("Načítání dat…"),
+                createButton("Zpět", "button-cancel", e -> showMainMenu()));
+        switchScene(root, MENU_WIDTH, MENU_HEIGHT);
+        data.whenCompleteAsync((dm, e) -> {
+            if (waitingForData == action) withData(action);
+        }, Platform::runLater);
+    }
+
+    private void showMainMenu() {
+        waitingForData = null;
+        if (menuScene == null) {
+            menuScene = createScene(createMainMenu(), MENU_WIDTH, MENU_HEIGHT);
+        }
+        showScene(menuScene);
+    }
+
+    private VBox createMainMenu() {
+        VBox root = createLayout();
+
+        Label title = new Label("Checkers");
+        title.getStyleClass().add("title-label");
+
+        root.getChildren().addAll(
+                title,
+                createButton("Nová hra", "button-action", e -> showLoginScreen()),
+                createButton("Načíst hru", "button", e -> withData(this::loadGameAction)),
+                createButton("Statistiky", "button", e -> withData(this::showStatistics)),
+                createButton("Konec", "button-cancel", e -> primaryStage.close())
+        );
+        return root;
+    }
+
+    private void showLoginScreen() {
+        if (loginScene == null) {
+            loginScene = createScene(createLoginScreen(), LOGIN_WIDTH, LOGIN_HEIGHT);
+        }
+        showScene(loginScene);
+    }
+
+    private VBox createLoginScreen() {
+        VBox root = createLayout();
+        Label title = new Label("Přihlášení hráčů");
+        title.getStyleClass().add("subtitle-label");
+
+        TextField whiteName = new TextField(); whiteName.setPromptText("Bílý hráč");
+        TextField blackName = new TextField(); blackName.setPromptText("Černý hráč");
+        CheckBox computerBlack = new CheckBox("Černý hraje počítač");
+        blackName.disableProperty().bind(computerBlack.selectedProperty());
+        CheckBox largeBoard = new CheckBox("Deska 10×10");
+        CheckBox flyingKings = new CheckBox("Létající dámy");
+        CheckBox maximumCapture = new CheckBox("Povinné braní nejvíce kamenů");
+
+        Button loginBtn = createButton("Hrát", "button-action", e -> {
+            String w = whiteName.getText().trim();
+            String b = computerBlack.isSelected() ? COMPUTER_NAME : blackName.getText().trim();
+            if (w.isEmpty() || b.isEmpty() || w.equals(b)) {
+                showAlert("Chyba", "Zadejte dvě různá jména.");
+                return;
+            }
+            if (w.equals(ResultStore.NO_WINNER) || b.equals(ResultStore.NO_WINNER)) {
+                showAlert("Chyba", "Jméno \"" + ResultStore.NO_WINNER + "\" je vyhrazené pro remízu.");
+                return;
+            }
+            Rules rules = new Rules(largeBoard.isSelected() ? BoardGeometry.INTERNATIONAL : BoardGeometry.CHECKERS,
+                    flyingKings.isSelected(), maximumCapture.isSelected());
+            Piece.PieceColor computerColor = computerBlack.isSelected() ? Piece.PieceColor.BLACK : null;
+            withData(() -> startGame(dataManager.loginPlayer(w), dataManager.loginPlayer(b), null,
+                    computerColor, rules));
+        });
+
+        root.getChildren().addAll(title, new Label("Bílý:"), whiteName, new Label("Černý:"), blackName, computerBlack,
+                largeBoard, flyingKings, maximumCapture, loginBtn,
+                createButton("Zpět", "button-cancel", e -> showMainMenu()));
+        return root;
+    }
+
+    private void showStatistics() {
+        if (statsScene == null) {
+            statsScene = createScene(createStatistics(), STATS_WIDTH, STATS_HEIGHT);
+        }
+        // the screen is reused, only its data is loaded again
+        statsRefresh.forEach(Runnable::run);
+        showScene(statsScene);
+    }
+
+    private VBox createStatistics() {
+        TabPane tabs = new TabPane();
+        tabs.getTabs().add(createTab("Top Hráči", createPlayersPane()));
+        tabs.getTabs().add(createTab("Vzájemné zápasy", createHeadToHeadPane()));
+        tabs.getTabs().add(createTab("Historie", createHistoryTable()));
+
+        Label lastDay = new Label();
+        statsRefresh.add(() -> lastDay.setText("Her za posledních 24 h: " + dataManager.getResultsOfLastDay().size()));
+
+        VBox root = createLayout();
+        root.getChildren().addAll(tabs, lastDay, createButton("Zpět", "button-cancel", e -> showMainMenu()));
+        return root;
+    }
+
+    private void startGame(Player white, Player black, GameModel loadedModel, Piece.PieceColor computerColor,
+                           Rules rules) {
+        Label infoLabel = new Label();
+        infoLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-padding: 0 0 10 0;");
+
+        Board board = loadedModel != null
+                ? new Board(BOARD_SIZE, BOARD_SIZE, infoLabel, loadedModel, white, black, dataManager, engine)
+                : new Board(BOARD_SIZE, BOARD_SIZE, white, black, dataManager, infoLabel, engine, computerColor, rules);
+        Button hintBtn = createButton("Nápověda", "button", e -> board.requestHint());
+        Button analysisBtn = createButton("Analýza", "button", e -> board.toggleAnalysis());
+        Button exitBtn = createButton("Ukončit hru", "button-cancel", e -> handleExit(board));
+
+        HBox buttons = new HBox(15, hintBtn, analysisBtn, exitBtn);
+        buttons.setAlignment(Pos.CENTER);
+
+        VBox root = createLayout();
+        root.getChildren().addAll(infoLabel, board, buttons);
+
+        switchScene(root, GAME_WINDOW_WIDTH, GAME_WINDOW_HEIGHT);
+    }
+
+    // logic
+    private void loadGameAction() {
+        GameModel model = GameModel.loadGame(SAVE_FILE,
+                msg -> showAlert("Info", msg),
+                win -> {}, dataManager);
+        if (model != null) startGame(null, null, model, null, model.getRules());
+    }
+
+    private void handleExit(Board board) {
+        if (board.isGameEnded()) { leaveGame(board); return; }
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Ukončit hru");
+        alert.setHeaderText("Hra probíhá");
+        alert.setContentText("Chcete hru uložit před ukončením?");
+
+        ButtonType buttonYes = new ButtonType("Ano");
+        ButtonType buttonNo = new ButtonType("Ne");
+        ButtonType buttonCancel = new ButtonType("Zrušit", ButtonBar.ButtonData.CANCEL_CLOSE);
+        alert.getButtonTypes().setAll(buttonYes, buttonNo, buttonCancel);
+
+        styleAlert(alert);
+
+        alert.showAndWait().ifPresent(type -> {
+            if (type == buttonYes) {
+                board.getGameModel().saveGame(SAVE_FILE);
+                leaveGame(board);
+            } else if (type == buttonNo) {
+                leaveGame(board);
+            }
+        });
+    }
+
+    private void leaveGame(Board board) {
+        board.dispose();
+        showMainMenu();
+    }
+
+    private VBox createLayout() {
+        VBox box = new VBox(15);
+        box.setAlignment(Pos.CENTER);
+        box.setPadding(new javafx.geometry.Insets(20));
+        return box;
+    }
+
+    private Button createButton(String text, String styleClass, javafx.event.EventHandler<javafx.event.ActionEvent> action) {
+        Button btn = new Button(text);
+        btn.getStyleClass().add(styleClass);
+        btn.setOnAction(action);
+        return btn;
+    }
+
+    private void switchScene(Parent root, int width, int height) {
+        showScene(createScene(root, width, height));
+    }
+
+    private Scene createScene(Parent root, int width, int height) {
+        Scene scene = new Scene(root, width, height);
+        String stylesheet = Resources.stylesheet();
+        if (stylesheet != null) {
+            scene.getStylesheets().add(stylesheet);
+        }
+        return scene;
+    }
+
+    private void showScene(Scene scene) {
+        if (primaryStage.getScene() == scene) return;
+        primaryStage.setScene(scene);
+        primaryStage.centerOnScreen();
+    }
+
+    private Tab createTab(String title, Node content) {
+        Tab tab = new Tab(title, content);
+        tab.setClosable(false);
+        return tab;
+    }
+
+    //statistic tables
+    private VBox createPlayersPane() {
+        TableView<Player> table = createPlayersTable();
+        ChoiceBox<String> order = new ChoiceBox<>();
+        order.getItems().addAll("Úspěšnost", "Elo", "Glicko-2");
+        Runnable update = () -> table.getItems().setAll(dataManager.getTopPlayers(10,
+                DataManager.Ranking.values()[order.getSelectionModel().getSelectedIndex()]));
+        order.getSelectionModel().select(0);
+        order.getSelectionModel().selectedIndexProperty().addListener((obs, old, index) -> update.run());
+        statsRefresh.add(update);
+
+        HBox bar = new HBox(10, new Label("Řadit podle:"), order);
+        bar.setAlignment(Pos.CENTER_LEFT);
+        VBox box = new VBox(10, bar, table);
+        VBox.setVgrow(table, Priority.ALWAYS);
+        return box;
+    }
+
+    private TableView<Player> createPlayersTable() {
+        TableView<Player> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+
+        TableColumn<Player, String> name = new TableColumn<>("Jméno");
+        name.setCellValueFactory(new PropertyValueFactory<>("name"));
+
+        TableColumn<Player, Integer> wins = new TableColumn<>("Výhry");
+        wins.setCellValueFactory(new PropertyValueFactory<>("gamesWon"));
+
+        TableColumn<Player, Integer> draws = new TableColumn<>("Remízy");
+        draws.setCellValueFactory(new PropertyValueFactory<>("gamesDrawn"));
+
+        TableColumn<Player, String> rate = new TableColumn<>("Úspěšnost");
+        rate.setCellValueFactory(c -> new SimpleStringProperty(String.format("%.1f %%", c.getValue().getWinRate())));
+
+        TableColumn<Player, String> elo = new TableColumn<>("Elo");
+        elo.setCellValueFactory(c -> new SimpleStringProperty(String.format("%.0f",
+                dataManager.getRatings().getElo(c.getValue().getName()))));
+
+        TableColumn<Player, String> glicko = new TableColumn<>("Glicko-2");
+        glicko.setCellValueFactory(c -> new SimpleStringProperty(String.format("%.0f ± %.0f",
+                dataManager.getRatings().getGlicko(c.getValue().getName()),
+                2 * dataManager.getRatings().getGlickoDeviation(c.getValue().getName()))));
+
+        table.getColumns().addAll(name, wins, draws, rate, elo, glicko);
+        return table;
+    }
+
+    private VBox createHeadToHeadPane() {
+        TableView<HeadToHead.Record> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        ChoiceBox<String> player = new ChoiceBox<>();
+
+        TableColumn<HeadToHead.Record, String> opponent = new TableColumn<>("Soupeř");
+        opponent.setCellValueFactory(c -> new SimpleStringProperty(c.getValue().getOpponent(player.getValue())));
+
+        TableColumn<HeadToHead.Record, String> games = new TableColumn<>("Hry");
+        games.setCellValueFactory(c -> new SimpleStringProperty(String.valueOf(c.getValue().getGames())));
+
+        TableColumn<HeadToHead.Record, String> score = new TableColumn<>("Výhry / Remízy / Prohry");
+        score.setCellValueFactory(c -> new SimpleStringProperty(String.format("%d / %d / %d",
+                c.getValue().getWins(player.getValue()), c.getValue().getDraws(),
+                c.getValue().getLosses(player.getValue()))));
+
+        TableColumn<HeadToHead.Record, String> moves = new TableColumn<>("Průměr tahů");
+        moves.setCellValueFactory(c -> new SimpleStringProperty(String.format("%.1f", c.getValue().getAverageMoves())));
+
+        TableColumn<HeadToHead.Record, String> time = new TableColumn<>("Průměrný čas");
+        time.setCellValueFactory(c -> {
+            long seconds = c.getValue().getAverageDurationMillis() / 1000;
+            return new SimpleStringProperty(String.format("%d:%02d", seconds / 60, seconds % 60));
+        });
+
+        table.getColumns().addAll(opponent, games, score, moves, time);
+        Label recent = new Label();
+        Runnable update = () -> {
+            String name = player.getValue();
+            if (name == null) {
+                table.getItems().clear();
+                recent.setText("");
+                return;
+            }
+            table.getItems().setAll(dataManager.getHeadToHead().getOpponents(name));
+            long now = System.currentTimeMillis();
+            long month = 30 * ResultTimeIndex.DAY_MILLIS;
+            recent.setText(String.format("Za 30 dní: %d her, úspěšnost %.1f %%",
+                    dataManager.getTimeIndex().getGames(name, now - month, now + 1),
+                    dataManager.getTimeIndex().getWinRate(name, month, now + 1)));
+        };
+        player.valueProperty().addListener((obs, old, name) -> update.run());
+        statsRefresh.add(() -> {
+            String selected = player.getValue();
+            List<String> names = new ArrayList<>();
+            for (Player p : dataManager.getAllPlayers()) {
+                names.add(p.getName());
+            }
+            player.getItems().setAll(names);
+            player.setValue(names.contains(selected) ? selected : null);
+            update.run();
+        });
+
+        HBox bar = new HBox(10, new Label("Hráč:"), player, recent);
+        bar.setAlignment(Pos.CENTER_LEFT);
+        VBox box = new VBox(10, bar, table);
+        VBox.setVgrow(table, Priority.ALWAYS);
+        return box;
+    }
+
+    private TableView<GameResult> createHistoryTable() {
+        TableView<GameResult> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+
+        TableColumn<GameResult, String> w = new TableColumn<>("Bílý");
+        w.setCellValueFactory(new PropertyValueFactory<>("whitePlayerName"));
+
+        TableColumn<GameResult, String> b = new TableColumn<>("Černý");
+        b.setCellValueFactory(new PropertyValueFactory<>("blackPlayerName"));
+
+        TableColumn<GameResult, String> win = new TableColumn<>("Vítěz");
+        win.setCellValueFactory(c -> new SimpleStringProperty(c.getValue().isDraw() ? "remíza" : c.getValue().getWinner()));
+
+        TableColumn<GameResult, String> time = new TableColumn<>("Čas");
+        time.setCellValueFactory(c -> new SimpleStringProperty(String.format("%d:%02d", c.getValue().getGameDurationSeconds() / 60, c.getValue().getGameDurationSeconds() % 60)));
+
+        TableColumn<GameResult, String> date = new TableColumn<>("Datum");
+        date.setCellValueFactory(c -> new SimpleStringProperty(c.getValue().getTimestamp() != null
+                ? c.getValue().getTimestamp().format(java.time.format.DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"))
+                : "?"));
+
+        table.getColumns().addAll(w, b, win, time, date);
+        // the rows are a view of the store read as they scroll in, sorting would need all of them
+        for (TableColumn<GameResult, ?> column : table.getColumns()) {
+            column.setSortable(false);
+        }
+        statsRefresh.add(() -> {
+            table.setItems(FXCollections.observableList(dataManager.getAllResults()));
+            table.refresh();
+        });
+        return table;
+    }
+
+    private void showAlert(String title, String content) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(content);
+        styleAlert(alert);
+        alert.showAndWait();
+    }
+
+    private void styleAlert(Alert alert) {
+        DialogPane dialogPane = alert.getDialogPane();
+        try {
+            dialogPane.getStylesheets().add(Resources.stylesheet());
+            dialogPane.getStyleClass().add("my-dialog");
+        } catch (Exception e) {
+        }
+    }
+
+    public static void main(String[] args) { launch(args); }
+}
\ No newline at end of file
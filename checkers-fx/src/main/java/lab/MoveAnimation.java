@@ -0,0 +1,59 @@
+/*
+ * MoveAnimation
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+/**
+ * One animated step of a piece (single move or one jump).
+ * Captured piece is kept here so it can fade out after it was removed from the model.
+ */
+public class MoveAnimation {
+    private static final long DURATION_NANOS = 180_000_000L;
+
+    private final Piece piece;
+    private final int fromRow;
+    private final int fromCol;
+    private final int toRow;
+    private final int toCol;
+    private final Piece captured;
+    private long startNanos = -1;
+
+    public MoveAnimation(Piece piece, int fromRow, int fromCol, int toRow, int toCol, Piece captured) {
+        this.piece = piece;
+        this.fromRow = fromRow;
+        this.fromCol = fromCol;
+        this.toRow = toRow;
+        this.toCol = toCol;
+        this.captured = captured;
+    }
+
+    /**
+     * Returns eased progress 0..1, starts the clock on first call.
+     */
+    public double progress(long now) {
+        if (startNanos < 0) {
+            startNanos = now;
+        }
+        double t = Math.min(1.0, (double) (now - startNanos) / DURATION_NANOS);
+        return t * t * (3 - 2 * t);
+    }
+
+    public boolean isFinished(long now) {
+        return startNanos >= 0 && now - startNanos >= DURATION_NANOS;
+    }
+
+    public Piece getPiece() { return piece; }
+    public Piece getCaptured() { return captured; }
+
+    public double getRow(double progress) {
+        return fromRow + (toRow - fromRow) * progress;
+    }
+
+    public double getCol(double progress) {
+        return fromCol + (toCol - fromCol) * progress;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * PieceRenderer
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+
+/**
+ * Draws pieces of the core model, the image is chosen by color and queen state.
+ */
+public class PieceRenderer {
+    private final double pieceScale = 1.8;
+
+    private final Image whiteImg;
+    private final Image blackImg;
+    private final Image queenWhiteImg;
+    private final Image queenBlackImg;
+
+    public PieceRenderer(Image whiteImg, Image blackImg, Image queenWhiteImg, Image queenBlackImg) {
+        this.whiteImg = whiteImg;
+        this.blackImg = blackImg;
+        this.queenWhiteImg = queenWhiteImg;
+        this.queenBlackImg = queenBlackImg;
+    }
+
+    /**
+     * True when all images are decoded, images loaded in background are drawn only then.
+     */
+    public boolean isReady() {
+        return loaded(whiteImg) && loaded(blackImg) && loaded(queenWhiteImg) && loaded(queenBlackImg);
+    }
+
+    private static boolean loaded(Image image) {
+        return image.getProgress() >= 1 && !image.isError();
+    }
+
+    public Image imageFor(Piece piece) {
+        if (piece.getColor() == Piece.PieceColor.WHITE) {
+            return piece.isQueen() ? queenWhiteImg : whiteImg;
+        }
+        return piece.isQueen() ? queenBlackImg : blackImg;
+    }
+
+    public void draw(GraphicsContext gc, Piece piece, int squareSize) {
+        drawAt(gc, piece, piece.getCol() * squareSize, piece.getRow() * squareSize, squareSize);
+    }
+
+    /**
+     * Draws piece at pixel position (used by animations between squares).
+     */
+    public void drawAt(GraphicsContext gc, Piece piece, double x, double y, int squareSize) {
+        Image image = imageFor(piece);
+        if (image == null || !loaded(image)) return;
+
+        double pieceSize = squareSize * pieceScale;
+        double aspect = image.getHeight() / image.getWidth();
+        double drawWidth = pieceSize;
+        double drawHeight = pieceSize * aspect;
+        double offsetX = (squareSize - drawWidth) / 2;
+        double offsetY = (squareSize - drawHeight) / 2;
+        gc.drawImage(image, x + offsetX, y + offsetY, drawWidth, drawHeight);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Resources
+ *
+ * Version 1.0
+ *
+ * 2025 Checkers Project
+ */
+package lab;
+
+import javafx.scene.image.Image;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Images and the stylesheet shared by the whole application.
+ *
+ * Piece images are created once with JavaFX background loading, so they are decoded
+ * off the FX thread while the menu is shown, and every board draws with the same
+ * instances. The stylesheet URL is resolved once; JavaFX parses a stylesheet once per
+ * URL and the scenes reused by {@link Main} keep it applied. Used on the FX thread only.
+ */
+public final class Resources {
+    private static final String STYLESHEET = "/styles.css";
+    private static final String[] PIECE_IMAGES = {
+            "/images/white.png", "/images/black.png", "/images/qeenW.png", "/images/qeenB.png"
+    };
+
+    private static final Map<String, Image> images = new HashMap<>();
+    private static String stylesheet;
+    private static PieceRenderer pieceRenderer;
+
+    private Resources() {
+    }
+
+    /**
+     * Starts decoding of the piece images in background.
+     */
+    public static void preload() {
+        for (String path : PIECE_IMAGES) {
+            image(path);
+        }
+    }
+
+    public static Image image(String path) {
+        return images.computeIfAbsent(path, p -> {
+            var url = Objects.requireNonNull(Resources.class.getResource(p), "Error resource: " + p);
+            return new Image(url.toExternalForm(), true);
+        });
+    }
+
+    /**
+     * Renderer over the shared piece images, which may still be loading.
+     */
+    public static PieceRenderer pieceRenderer() {
+        if (pieceRenderer == null) {
+            pieceRenderer = new PieceRenderer(image(PIECE_IMAGES[0]), image(PIECE_IMAGES[1]),
+                    image(PIECE_IMAGES[2]), image(PIECE_IMAGES[3]));
+        }
+        return pieceRenderer;
+    }
+
+    /**
+     * External form of the stylesheet, null if it is missing.
+     */
+    public static String stylesheet() {
+        if (stylesheet == null) {
+            var url = Resources.class.getResource(STYLESHEET);
+            stylesheet = url != null ? url.toExternalForm() : "";
+        }
+        return stylesheet.isEmpty() ? null : stylesheet;
+    }
+}